@@ -24,6 +24,8 @@ import { BASE_PATH, COLLECTION_FORMATS, type RequestArgs, BaseAPI, RequiredError
 // @ts-ignore
 import type { ListedMoment } from '../models';
 // @ts-ignore
+import type { ListedMomentCursorList } from '../models';
+// @ts-ignore
 import type { ListedMomentList } from '../models';
 // @ts-ignore
 import type { Moment } from '../models';
@@ -209,6 +211,112 @@ export const ConsoleApiMomentHaloRunV1alpha1MomentApiAxiosParamCreator = functio
 
 
     
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * List moments by cursor, newest first.
+         * @param {number} [page] Page number. Default is 0.
+         * @param {number} [size] Size number. Default is 0.
+         * @param {Array<string>} [labelSelector] Label selector. e.g.: hidden!&#x3D;true
+         * @param {Array<string>} [fieldSelector] Field selector. e.g.: metadata.name&#x3D;&#x3D;halo
+         * @param {Array<string>} [sort] Sorting criteria in the format: property,(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.
+         * @param {string} [keyword] Moments filtered by keyword.
+         * @param {string} [ownerName] Owner name.
+         * @param {string} [tag] Moment tag.
+         * @param {ListMomentsByCursorVisibleEnum} [visible] Moment visible.
+         * @param {string} [startDate] Moment start date.
+         * @param {string} [endDate] Moment end date.
+         * @param {boolean} [approved] Moment approved.
+         * @param {string} [cursor] The nextCursor of the previous page, absent or empty for the first page. Moments are listed newest first, the page and sort parameters are ignored.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        listMomentsByCursor: async (page?: number, size?: number, labelSelector?: Array<string>, fieldSelector?: Array<string>, sort?: Array<string>, keyword?: string, ownerName?: string, tag?: string, visible?: ListMomentsByCursorVisibleEnum, startDate?: string, endDate?: string, approved?: boolean, cursor?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            const localVarPath = `/apis/console.api.moment.halo.run/v1alpha1/moments/-/cursor`;
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+            if (page !== undefined) {
+                localVarQueryParameter['page'] = page;
+            }
+
+            if (size !== undefined) {
+                localVarQueryParameter['size'] = size;
+            }
+
+            if (labelSelector) {
+                localVarQueryParameter['labelSelector'] = labelSelector;
+            }
+
+            if (fieldSelector) {
+                localVarQueryParameter['fieldSelector'] = fieldSelector;
+            }
+
+            if (sort) {
+                localVarQueryParameter['sort'] = sort;
+            }
+
+            if (keyword !== undefined) {
+                localVarQueryParameter['keyword'] = keyword;
+            }
+
+            if (ownerName !== undefined) {
+                localVarQueryParameter['ownerName'] = ownerName;
+            }
+
+            if (tag !== undefined) {
+                localVarQueryParameter['tag'] = tag;
+            }
+
+            if (visible !== undefined) {
+                localVarQueryParameter['visible'] = visible;
+            }
+
+            if (startDate !== undefined) {
+                localVarQueryParameter['startDate'] = (startDate as any instanceof Date) ?
+                    (startDate as any).toISOString() :
+                    startDate;
+            }
+
+            if (endDate !== undefined) {
+                localVarQueryParameter['endDate'] = (endDate as any instanceof Date) ?
+                    (endDate as any).toISOString() :
+                    endDate;
+            }
+
+            if (approved !== undefined) {
+                localVarQueryParameter['approved'] = approved;
+            }
+
+            if (cursor !== undefined) {
+                localVarQueryParameter['cursor'] = cursor;
+            }
+
+
+    
             setSearchParams(localVarUrlObj, localVarQueryParameter);
             let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
             localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
@@ -221,10 +329,11 @@ export const ConsoleApiMomentHaloRunV1alpha1MomentApiAxiosParamCreator = functio
         /**
          * List all moment tags.
          * @param {string} [name] Tag name to query
+         * @param {number} [limit] Max number of tags, no limit if absent
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        listTags: async (name?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+        listTags: async (name?: string, limit?: number, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
             const localVarPath = `/apis/console.api.moment.halo.run/v1alpha1/tags`;
             // use dummy base URL string because the URL constructor only accepts absolute URLs.
             const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
@@ -249,6 +358,10 @@ export const ConsoleApiMomentHaloRunV1alpha1MomentApiAxiosParamCreator = functio
                 localVarQueryParameter['name'] = name;
             }
 
+            if (limit !== undefined) {
+                localVarQueryParameter['limit'] = limit;
+            }
+
 
     
             setSearchParams(localVarUrlObj, localVarQueryParameter);
@@ -317,14 +430,39 @@ export const ConsoleApiMomentHaloRunV1alpha1MomentApiFp = function(configuration
             const localVarOperationServerBasePath = operationServerMap['ConsoleApiMomentHaloRunV1alpha1MomentApi.listMoments']?.[localVarOperationServerIndex]?.url;
             return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
         },
+        /**
+         * List moments by cursor, newest first.
+         * @param {number} [page] Page number. Default is 0.
+         * @param {number} [size] Size number. Default is 0.
+         * @param {Array<string>} [labelSelector] Label selector. e.g.: hidden!&#x3D;true
+         * @param {Array<string>} [fieldSelector] Field selector. e.g.: metadata.name&#x3D;&#x3D;halo
+         * @param {Array<string>} [sort] Sorting criteria in the format: property,(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.
+         * @param {string} [keyword] Moments filtered by keyword.
+         * @param {string} [ownerName] Owner name.
+         * @param {string} [tag] Moment tag.
+         * @param {ListMomentsByCursorVisibleEnum} [visible] Moment visible.
+         * @param {string} [startDate] Moment start date.
+         * @param {string} [endDate] Moment end date.
+         * @param {boolean} [approved] Moment approved.
+         * @param {string} [cursor] The nextCursor of the previous page, absent or empty for the first page. Moments are listed newest first, the page and sort parameters are ignored.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async listMomentsByCursor(page?: number, size?: number, labelSelector?: Array<string>, fieldSelector?: Array<string>, sort?: Array<string>, keyword?: string, ownerName?: string, tag?: string, visible?: ListMomentsByCursorVisibleEnum, startDate?: string, endDate?: string, approved?: boolean, cursor?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<ListedMomentCursorList>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.listMomentsByCursor(page, size, labelSelector, fieldSelector, sort, keyword, ownerName, tag, visible, startDate, endDate, approved, cursor, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['ConsoleApiMomentHaloRunV1alpha1MomentApi.listMomentsByCursor']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
         /**
          * List all moment tags.
          * @param {string} [name] Tag name to query
+         * @param {number} [limit] Max number of tags, no limit if absent
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        async listTags(name?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<Array<string>>> {
-            const localVarAxiosArgs = await localVarAxiosParamCreator.listTags(name, options);
+        async listTags(name?: string, limit?: number, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<Array<string>>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.listTags(name, limit, options);
             const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
             const localVarOperationServerBasePath = operationServerMap['ConsoleApiMomentHaloRunV1alpha1MomentApi.listTags']?.[localVarOperationServerIndex]?.url;
             return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
@@ -366,6 +504,15 @@ export const ConsoleApiMomentHaloRunV1alpha1MomentApiFactory = function (configu
         listMoments(requestParameters: ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsRequest = {}, options?: RawAxiosRequestConfig): AxiosPromise<ListedMomentList> {
             return localVarFp.listMoments(requestParameters.page, requestParameters.size, requestParameters.labelSelector, requestParameters.fieldSelector, requestParameters.sort, requestParameters.keyword, requestParameters.ownerName, requestParameters.tag, requestParameters.visible, requestParameters.startDate, requestParameters.endDate, requestParameters.approved, options).then((request) => request(axios, basePath));
         },
+        /**
+         * List moments by cursor, newest first.
+         * @param {ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursorRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        listMomentsByCursor(requestParameters: ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursorRequest = {}, options?: RawAxiosRequestConfig): AxiosPromise<ListedMomentCursorList> {
+            return localVarFp.listMomentsByCursor(requestParameters.page, requestParameters.size, requestParameters.labelSelector, requestParameters.fieldSelector, requestParameters.sort, requestParameters.keyword, requestParameters.ownerName, requestParameters.tag, requestParameters.visible, requestParameters.startDate, requestParameters.endDate, requestParameters.approved, requestParameters.cursor, options).then((request) => request(axios, basePath));
+        },
         /**
          * List all moment tags.
          * @param {ConsoleApiMomentHaloRunV1alpha1MomentApiListTagsRequest} requestParameters Request parameters.
@@ -373,7 +520,7 @@ export const ConsoleApiMomentHaloRunV1alpha1MomentApiFactory = function (configu
          * @throws {RequiredError}
          */
         listTags(requestParameters: ConsoleApiMomentHaloRunV1alpha1MomentApiListTagsRequest = {}, options?: RawAxiosRequestConfig): AxiosPromise<Array<string>> {
-            return localVarFp.listTags(requestParameters.name, options).then((request) => request(axios, basePath));
+            return localVarFp.listTags(requestParameters.name, requestParameters.limit, options).then((request) => request(axios, basePath));
         },
     };
 };
@@ -497,6 +644,104 @@ export interface ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsRequest {
     readonly approved?: boolean
 }
 
+/**
+ * Request parameters for listMomentsByCursor operation in ConsoleApiMomentHaloRunV1alpha1MomentApi.
+ * @export
+ * @interface ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursorRequest
+ */
+export interface ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursorRequest {
+    /**
+     * Page number. Default is 0.
+     * @type {number}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly page?: number
+
+    /**
+     * Size number. Default is 0.
+     * @type {number}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly size?: number
+
+    /**
+     * Label selector. e.g.: hidden!&#x3D;true
+     * @type {Array<string>}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly labelSelector?: Array<string>
+
+    /**
+     * Field selector. e.g.: metadata.name&#x3D;&#x3D;halo
+     * @type {Array<string>}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly fieldSelector?: Array<string>
+
+    /**
+     * Sorting criteria in the format: property,(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.
+     * @type {Array<string>}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly sort?: Array<string>
+
+    /**
+     * Moments filtered by keyword.
+     * @type {string}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly keyword?: string
+
+    /**
+     * Owner name.
+     * @type {string}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly ownerName?: string
+
+    /**
+     * Moment tag.
+     * @type {string}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly tag?: string
+
+    /**
+     * Moment visible.
+     * @type {'PUBLIC' | 'PRIVATE'}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly visible?: ListMomentsByCursorVisibleEnum
+
+    /**
+     * Moment start date.
+     * @type {string}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly startDate?: string
+
+    /**
+     * Moment end date.
+     * @type {string}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly endDate?: string
+
+    /**
+     * Moment approved.
+     * @type {boolean}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly approved?: boolean
+
+    /**
+     * The nextCursor of the previous page, absent or empty for the first page. Moments are listed newest first, the page and sort parameters are ignored.
+     * @type {string}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursor
+     */
+    readonly cursor?: string
+}
+
 /**
  * Request parameters for listTags operation in ConsoleApiMomentHaloRunV1alpha1MomentApi.
  * @export
@@ -509,6 +754,13 @@ export interface ConsoleApiMomentHaloRunV1alpha1MomentApiListTagsRequest {
      * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListTags
      */
     readonly name?: string
+
+    /**
+     * Max number of tags, no limit if absent
+     * @type {number}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApiListTags
+     */
+    readonly limit?: number
 }
 
 /**
@@ -551,6 +803,17 @@ export class ConsoleApiMomentHaloRunV1alpha1MomentApi extends BaseAPI {
         return ConsoleApiMomentHaloRunV1alpha1MomentApiFp(this.configuration).listMoments(requestParameters.page, requestParameters.size, requestParameters.labelSelector, requestParameters.fieldSelector, requestParameters.sort, requestParameters.keyword, requestParameters.ownerName, requestParameters.tag, requestParameters.visible, requestParameters.startDate, requestParameters.endDate, requestParameters.approved, options).then((request) => request(this.axios, this.basePath));
     }
 
+    /**
+     * List moments by cursor, newest first.
+     * @param {ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursorRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApi
+     */
+    public listMomentsByCursor(requestParameters: ConsoleApiMomentHaloRunV1alpha1MomentApiListMomentsByCursorRequest = {}, options?: RawAxiosRequestConfig) {
+        return ConsoleApiMomentHaloRunV1alpha1MomentApiFp(this.configuration).listMomentsByCursor(requestParameters.page, requestParameters.size, requestParameters.labelSelector, requestParameters.fieldSelector, requestParameters.sort, requestParameters.keyword, requestParameters.ownerName, requestParameters.tag, requestParameters.visible, requestParameters.startDate, requestParameters.endDate, requestParameters.approved, requestParameters.cursor, options).then((request) => request(this.axios, this.basePath));
+    }
+
     /**
      * List all moment tags.
      * @param {ConsoleApiMomentHaloRunV1alpha1MomentApiListTagsRequest} requestParameters Request parameters.
@@ -559,7 +822,7 @@ export class ConsoleApiMomentHaloRunV1alpha1MomentApi extends BaseAPI {
      * @memberof ConsoleApiMomentHaloRunV1alpha1MomentApi
      */
     public listTags(requestParameters: ConsoleApiMomentHaloRunV1alpha1MomentApiListTagsRequest = {}, options?: RawAxiosRequestConfig) {
-        return ConsoleApiMomentHaloRunV1alpha1MomentApiFp(this.configuration).listTags(requestParameters.name, options).then((request) => request(this.axios, this.basePath));
+        return ConsoleApiMomentHaloRunV1alpha1MomentApiFp(this.configuration).listTags(requestParameters.name, requestParameters.limit, options).then((request) => request(this.axios, this.basePath));
     }
 }
 
@@ -571,3 +834,11 @@ export const ListMomentsVisibleEnum = {
     Private: 'PRIVATE'
 } as const;
 export type ListMomentsVisibleEnum = typeof ListMomentsVisibleEnum[keyof typeof ListMomentsVisibleEnum];
+/**
+ * @export
+ */
+export const ListMomentsByCursorVisibleEnum = {
+    Public: 'PUBLIC',
+    Private: 'PRIVATE'
+} as const;
+export type ListMomentsByCursorVisibleEnum = typeof ListMomentsByCursorVisibleEnum[keyof typeof ListMomentsByCursorVisibleEnum];
@@ -22,6 +22,8 @@ import { DUMMY_BASE_URL, assertParamExists, setApiKeyToObject, setBasicAuthToObj
 // @ts-ignore
 import { BASE_PATH, COLLECTION_FORMATS, type RequestArgs, BaseAPI, RequiredError, operationServerMap } from '../base';
 // @ts-ignore
+import type { ListedMomentCursorList } from '../models';
+// @ts-ignore
 import type { ListedMomentList } from '../models';
 // @ts-ignore
 import type { Moment } from '../models';
@@ -248,6 +250,112 @@ export const UcApiMomentHaloRunV1alpha1MomentApiAxiosParamCreator = function (co
 
 
     
+            setSearchParams(localVarUrlObj, localVarQueryParameter);
+            let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
+            localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
+
+            return {
+                url: toPathString(localVarUrlObj),
+                options: localVarRequestOptions,
+            };
+        },
+        /**
+         * List My moments by cursor, newest first.
+         * @param {number} [page] Page number. Default is 0.
+         * @param {number} [size] Size number. Default is 0.
+         * @param {Array<string>} [labelSelector] Label selector. e.g.: hidden!&#x3D;true
+         * @param {Array<string>} [fieldSelector] Field selector. e.g.: metadata.name&#x3D;&#x3D;halo
+         * @param {Array<string>} [sort] Sorting criteria in the format: property,(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.
+         * @param {string} [keyword] Moments filtered by keyword.
+         * @param {string} [ownerName] Owner name.
+         * @param {string} [tag] Moment tag.
+         * @param {ListMyMomentsByCursorVisibleEnum} [visible] Moment visible.
+         * @param {string} [startDate] Moment start date.
+         * @param {string} [endDate] Moment end date.
+         * @param {boolean} [approved] Moment approved.
+         * @param {string} [cursor] The nextCursor of the previous page, absent or empty for the first page. Moments are listed newest first, the page and sort parameters are ignored.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        listMyMomentsByCursor: async (page?: number, size?: number, labelSelector?: Array<string>, fieldSelector?: Array<string>, sort?: Array<string>, keyword?: string, ownerName?: string, tag?: string, visible?: ListMyMomentsByCursorVisibleEnum, startDate?: string, endDate?: string, approved?: boolean, cursor?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+            const localVarPath = `/apis/uc.api.moment.halo.run/v1alpha1/moments/-/cursor`;
+            // use dummy base URL string because the URL constructor only accepts absolute URLs.
+            const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
+            let baseOptions;
+            if (configuration) {
+                baseOptions = configuration.baseOptions;
+            }
+
+            const localVarRequestOptions = { method: 'GET', ...baseOptions, ...options};
+            const localVarHeaderParameter = {} as any;
+            const localVarQueryParameter = {} as any;
+
+            // authentication basicAuth required
+            // http basic authentication required
+            setBasicAuthToObject(localVarRequestOptions, configuration)
+
+            // authentication bearerAuth required
+            // http bearer authentication required
+            await setBearerAuthToObject(localVarHeaderParameter, configuration)
+
+            if (page !== undefined) {
+                localVarQueryParameter['page'] = page;
+            }
+
+            if (size !== undefined) {
+                localVarQueryParameter['size'] = size;
+            }
+
+            if (labelSelector) {
+                localVarQueryParameter['labelSelector'] = labelSelector;
+            }
+
+            if (fieldSelector) {
+                localVarQueryParameter['fieldSelector'] = fieldSelector;
+            }
+
+            if (sort) {
+                localVarQueryParameter['sort'] = sort;
+            }
+
+            if (keyword !== undefined) {
+                localVarQueryParameter['keyword'] = keyword;
+            }
+
+            if (ownerName !== undefined) {
+                localVarQueryParameter['ownerName'] = ownerName;
+            }
+
+            if (tag !== undefined) {
+                localVarQueryParameter['tag'] = tag;
+            }
+
+            if (visible !== undefined) {
+                localVarQueryParameter['visible'] = visible;
+            }
+
+            if (startDate !== undefined) {
+                localVarQueryParameter['startDate'] = (startDate as any instanceof Date) ?
+                    (startDate as any).toISOString() :
+                    startDate;
+            }
+
+            if (endDate !== undefined) {
+                localVarQueryParameter['endDate'] = (endDate as any instanceof Date) ?
+                    (endDate as any).toISOString() :
+                    endDate;
+            }
+
+            if (approved !== undefined) {
+                localVarQueryParameter['approved'] = approved;
+            }
+
+            if (cursor !== undefined) {
+                localVarQueryParameter['cursor'] = cursor;
+            }
+
+
+    
             setSearchParams(localVarUrlObj, localVarQueryParameter);
             let headersFromBaseOptions = baseOptions && baseOptions.headers ? baseOptions.headers : {};
             localVarRequestOptions.headers = {...localVarHeaderParameter, ...headersFromBaseOptions, ...options.headers};
@@ -260,10 +368,11 @@ export const UcApiMomentHaloRunV1alpha1MomentApiAxiosParamCreator = function (co
         /**
          * List all moment tags.
          * @param {string} [name] Tag name to query
+         * @param {number} [limit] Max number of tags, no limit if absent
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        listTags1: async (name?: string, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
+        listTags1: async (name?: string, limit?: number, options: RawAxiosRequestConfig = {}): Promise<RequestArgs> => {
             const localVarPath = `/apis/uc.api.moment.halo.run/v1alpha1/tags`;
             // use dummy base URL string because the URL constructor only accepts absolute URLs.
             const localVarUrlObj = new URL(localVarPath, DUMMY_BASE_URL);
@@ -288,6 +397,10 @@ export const UcApiMomentHaloRunV1alpha1MomentApiAxiosParamCreator = function (co
                 localVarQueryParameter['name'] = name;
             }
 
+            if (limit !== undefined) {
+                localVarQueryParameter['limit'] = limit;
+            }
+
 
     
             setSearchParams(localVarUrlObj, localVarQueryParameter);
@@ -415,14 +528,39 @@ export const UcApiMomentHaloRunV1alpha1MomentApiFp = function(configuration?: Co
             const localVarOperationServerBasePath = operationServerMap['UcApiMomentHaloRunV1alpha1MomentApi.listMyMoments']?.[localVarOperationServerIndex]?.url;
             return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
         },
+        /**
+         * List My moments by cursor, newest first.
+         * @param {number} [page] Page number. Default is 0.
+         * @param {number} [size] Size number. Default is 0.
+         * @param {Array<string>} [labelSelector] Label selector. e.g.: hidden!&#x3D;true
+         * @param {Array<string>} [fieldSelector] Field selector. e.g.: metadata.name&#x3D;&#x3D;halo
+         * @param {Array<string>} [sort] Sorting criteria in the format: property,(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.
+         * @param {string} [keyword] Moments filtered by keyword.
+         * @param {string} [ownerName] Owner name.
+         * @param {string} [tag] Moment tag.
+         * @param {ListMyMomentsByCursorVisibleEnum} [visible] Moment visible.
+         * @param {string} [startDate] Moment start date.
+         * @param {string} [endDate] Moment end date.
+         * @param {boolean} [approved] Moment approved.
+         * @param {string} [cursor] The nextCursor of the previous page, absent or empty for the first page. Moments are listed newest first, the page and sort parameters are ignored.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        async listMyMomentsByCursor(page?: number, size?: number, labelSelector?: Array<string>, fieldSelector?: Array<string>, sort?: Array<string>, keyword?: string, ownerName?: string, tag?: string, visible?: ListMyMomentsByCursorVisibleEnum, startDate?: string, endDate?: string, approved?: boolean, cursor?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<ListedMomentCursorList>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.listMyMomentsByCursor(page, size, labelSelector, fieldSelector, sort, keyword, ownerName, tag, visible, startDate, endDate, approved, cursor, options);
+            const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
+            const localVarOperationServerBasePath = operationServerMap['UcApiMomentHaloRunV1alpha1MomentApi.listMyMomentsByCursor']?.[localVarOperationServerIndex]?.url;
+            return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
+        },
         /**
          * List all moment tags.
          * @param {string} [name] Tag name to query
+         * @param {number} [limit] Max number of tags, no limit if absent
          * @param {*} [options] Override http request option.
          * @throws {RequiredError}
          */
-        async listTags1(name?: string, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<Array<string>>> {
-            const localVarAxiosArgs = await localVarAxiosParamCreator.listTags1(name, options);
+        async listTags1(name?: string, limit?: number, options?: RawAxiosRequestConfig): Promise<(axios?: AxiosInstance, basePath?: string) => AxiosPromise<Array<string>>> {
+            const localVarAxiosArgs = await localVarAxiosParamCreator.listTags1(name, limit, options);
             const localVarOperationServerIndex = configuration?.serverIndex ?? 0;
             const localVarOperationServerBasePath = operationServerMap['UcApiMomentHaloRunV1alpha1MomentApi.listTags1']?.[localVarOperationServerIndex]?.url;
             return (axios, basePath) => createRequestFunction(localVarAxiosArgs, globalAxios, BASE_PATH, configuration)(axios, localVarOperationServerBasePath || basePath);
@@ -486,6 +624,15 @@ export const UcApiMomentHaloRunV1alpha1MomentApiFactory = function (configuratio
         listMyMoments(requestParameters: UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsRequest = {}, options?: RawAxiosRequestConfig): AxiosPromise<ListedMomentList> {
             return localVarFp.listMyMoments(requestParameters.page, requestParameters.size, requestParameters.labelSelector, requestParameters.fieldSelector, requestParameters.sort, requestParameters.keyword, requestParameters.ownerName, requestParameters.tag, requestParameters.visible, requestParameters.startDate, requestParameters.endDate, requestParameters.approved, options).then((request) => request(axios, basePath));
         },
+        /**
+         * List My moments by cursor, newest first.
+         * @param {UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursorRequest} requestParameters Request parameters.
+         * @param {*} [options] Override http request option.
+         * @throws {RequiredError}
+         */
+        listMyMomentsByCursor(requestParameters: UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursorRequest = {}, options?: RawAxiosRequestConfig): AxiosPromise<ListedMomentCursorList> {
+            return localVarFp.listMyMomentsByCursor(requestParameters.page, requestParameters.size, requestParameters.labelSelector, requestParameters.fieldSelector, requestParameters.sort, requestParameters.keyword, requestParameters.ownerName, requestParameters.tag, requestParameters.visible, requestParameters.startDate, requestParameters.endDate, requestParameters.approved, requestParameters.cursor, options).then((request) => request(axios, basePath));
+        },
         /**
          * List all moment tags.
          * @param {UcApiMomentHaloRunV1alpha1MomentApiListTags1Request} requestParameters Request parameters.
@@ -493,7 +640,7 @@ export const UcApiMomentHaloRunV1alpha1MomentApiFactory = function (configuratio
          * @throws {RequiredError}
          */
         listTags1(requestParameters: UcApiMomentHaloRunV1alpha1MomentApiListTags1Request = {}, options?: RawAxiosRequestConfig): AxiosPromise<Array<string>> {
-            return localVarFp.listTags1(requestParameters.name, options).then((request) => request(axios, basePath));
+            return localVarFp.listTags1(requestParameters.name, requestParameters.limit, options).then((request) => request(axios, basePath));
         },
         /**
          * Update a My Moment.
@@ -640,6 +787,104 @@ export interface UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsRequest {
     readonly approved?: boolean
 }
 
+/**
+ * Request parameters for listMyMomentsByCursor operation in UcApiMomentHaloRunV1alpha1MomentApi.
+ * @export
+ * @interface UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursorRequest
+ */
+export interface UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursorRequest {
+    /**
+     * Page number. Default is 0.
+     * @type {number}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly page?: number
+
+    /**
+     * Size number. Default is 0.
+     * @type {number}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly size?: number
+
+    /**
+     * Label selector. e.g.: hidden!&#x3D;true
+     * @type {Array<string>}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly labelSelector?: Array<string>
+
+    /**
+     * Field selector. e.g.: metadata.name&#x3D;&#x3D;halo
+     * @type {Array<string>}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly fieldSelector?: Array<string>
+
+    /**
+     * Sorting criteria in the format: property,(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.
+     * @type {Array<string>}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly sort?: Array<string>
+
+    /**
+     * Moments filtered by keyword.
+     * @type {string}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly keyword?: string
+
+    /**
+     * Owner name.
+     * @type {string}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly ownerName?: string
+
+    /**
+     * Moment tag.
+     * @type {string}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly tag?: string
+
+    /**
+     * Moment visible.
+     * @type {'PUBLIC' | 'PRIVATE'}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly visible?: ListMyMomentsByCursorVisibleEnum
+
+    /**
+     * Moment start date.
+     * @type {string}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly startDate?: string
+
+    /**
+     * Moment end date.
+     * @type {string}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly endDate?: string
+
+    /**
+     * Moment approved.
+     * @type {boolean}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly approved?: boolean
+
+    /**
+     * The nextCursor of the previous page, absent or empty for the first page. Moments are listed newest first, the page and sort parameters are ignored.
+     * @type {string}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursor
+     */
+    readonly cursor?: string
+}
+
 /**
  * Request parameters for listTags1 operation in UcApiMomentHaloRunV1alpha1MomentApi.
  * @export
@@ -652,6 +897,13 @@ export interface UcApiMomentHaloRunV1alpha1MomentApiListTags1Request {
      * @memberof UcApiMomentHaloRunV1alpha1MomentApiListTags1
      */
     readonly name?: string
+
+    /**
+     * Max number of tags, no limit if absent
+     * @type {number}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApiListTags1
+     */
+    readonly limit?: number
 }
 
 /**
@@ -726,6 +978,17 @@ export class UcApiMomentHaloRunV1alpha1MomentApi extends BaseAPI {
         return UcApiMomentHaloRunV1alpha1MomentApiFp(this.configuration).listMyMoments(requestParameters.page, requestParameters.size, requestParameters.labelSelector, requestParameters.fieldSelector, requestParameters.sort, requestParameters.keyword, requestParameters.ownerName, requestParameters.tag, requestParameters.visible, requestParameters.startDate, requestParameters.endDate, requestParameters.approved, options).then((request) => request(this.axios, this.basePath));
     }
 
+    /**
+     * List My moments by cursor, newest first.
+     * @param {UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursorRequest} requestParameters Request parameters.
+     * @param {*} [options] Override http request option.
+     * @throws {RequiredError}
+     * @memberof UcApiMomentHaloRunV1alpha1MomentApi
+     */
+    public listMyMomentsByCursor(requestParameters: UcApiMomentHaloRunV1alpha1MomentApiListMyMomentsByCursorRequest = {}, options?: RawAxiosRequestConfig) {
+        return UcApiMomentHaloRunV1alpha1MomentApiFp(this.configuration).listMyMomentsByCursor(requestParameters.page, requestParameters.size, requestParameters.labelSelector, requestParameters.fieldSelector, requestParameters.sort, requestParameters.keyword, requestParameters.ownerName, requestParameters.tag, requestParameters.visible, requestParameters.startDate, requestParameters.endDate, requestParameters.approved, requestParameters.cursor, options).then((request) => request(this.axios, this.basePath));
+    }
+
     /**
      * List all moment tags.
      * @param {UcApiMomentHaloRunV1alpha1MomentApiListTags1Request} requestParameters Request parameters.
@@ -734,7 +997,7 @@ export class UcApiMomentHaloRunV1alpha1MomentApi extends BaseAPI {
      * @memberof UcApiMomentHaloRunV1alpha1MomentApi
      */
     public listTags1(requestParameters: UcApiMomentHaloRunV1alpha1MomentApiListTags1Request = {}, options?: RawAxiosRequestConfig) {
-        return UcApiMomentHaloRunV1alpha1MomentApiFp(this.configuration).listTags1(requestParameters.name, options).then((request) => request(this.axios, this.basePath));
+        return UcApiMomentHaloRunV1alpha1MomentApiFp(this.configuration).listTags1(requestParameters.name, requestParameters.limit, options).then((request) => request(this.axios, this.basePath));
     }
 
     /**
@@ -757,3 +1020,11 @@ export const ListMyMomentsVisibleEnum = {
     Private: 'PRIVATE'
 } as const;
 export type ListMyMomentsVisibleEnum = typeof ListMyMomentsVisibleEnum[keyof typeof ListMyMomentsVisibleEnum];
+/**
+ * @export
+ */
+export const ListMyMomentsByCursorVisibleEnum = {
+    Public: 'PUBLIC',
+    Private: 'PRIVATE'
+} as const;
+export type ListMyMomentsByCursorVisibleEnum = typeof ListMyMomentsByCursorVisibleEnum[keyof typeof ListMyMomentsByCursorVisibleEnum];
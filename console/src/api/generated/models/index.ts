@@ -3,6 +3,7 @@ export * from "./contributor";
 export * from "./copy-operation";
 export * from "./json-patch-inner";
 export * from "./listed-moment";
+export * from "./listed-moment-cursor-list";
 export * from "./listed-moment-list";
 export * from "./metadata";
 export * from "./moment";
@@ -1,40 +1,71 @@
 package run.halo.moments;
 
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+import static run.halo.app.extension.index.query.QueryFactory.in;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.stream.Collectors;
 import lombok.Builder;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.safety.Safelist;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
 import run.halo.app.core.extension.content.Comment;
 import run.halo.app.core.extension.notification.Reason;
-import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.ListOptions;
 import run.halo.app.extension.MetadataUtil;
-import run.halo.app.extension.Ref;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.extension.router.selector.FieldSelector;
 import run.halo.app.infra.ExternalLinkProcessor;
-import run.halo.app.infra.utils.JsonUtils;
 import run.halo.app.notification.NotificationReasonEmitter;
 import run.halo.app.notification.UserIdentity;
+import run.halo.moments.event.MomentDeletedEvent;
 import run.halo.moments.event.MomentHasNewCommentEvent;
+import run.halo.moments.event.MomentUpdatedEvent;
+import run.halo.moments.util.LruCache;
 
 /**
- * Notification reason publisher for {@link Comment}.
+ * <p>Notification reason publisher for {@link Comment}.</p>
+ * <p>New comments are put into a bounded queue and handled by a dedicated reactive pipeline in
+ * batches. The moments of a batch are fetched with a single query, the reasons are emitted with
+ * bounded concurrency, and then the notified comments are read with a single query and marked
+ * as notified. When the queue is full, new comments are dropped instead of blocking the caller,
+ * they are counted in the {@code moments.comment.notification.dropped} meter and the queue depth
+ * is exposed in the {@code moments.comment.notification.queue} gauge. Comments still queued
+ * when the plugin stops are dropped and counted as well, and both meters are then removed from
+ * the registry.</p>
+ * <p>The sanitized content and the reason subject of a moment do not depend on the comment, so
+ * they are computed once per moment version and cached.</p>
  *
  * @author guqing
  * @since 1.1.0
  */
+@Slf4j
 @Component
-@RequiredArgsConstructor
-public class CommentNotificationReasonPublisher {
+public class CommentNotificationReasonPublisher implements InitializingBean, DisposableBean {
     private static final DateTimeFormatter DEFAULT_DATE_FORMATTER = DateTimeFormatter
         .ofPattern("yyyy-MM-dd HH:mm:ss")
         .withZone(ZoneId.systemDefault());
@@ -42,14 +73,50 @@ public class CommentNotificationReasonPublisher {
     public static final String NEW_COMMENT_ON_MOMENT = "new-comment-on-moment";
     public static final String NOTIFIED_ANNO = "moment.halo.run/notified";
 
-    private final ExtensionClient client;
+    static final int QUEUE_CAPACITY = 1024;
+
+    static final int MAX_BATCH_SIZE = 50;
+
+    static final Duration BATCH_WINDOW = Duration.ofSeconds(1);
+
+    static final int CONCURRENCY = 4;
+
+    static final int PAYLOAD_CACHE_CAPACITY = 256;
+
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED =
+        (signalType, emitResult) -> emitResult == Sinks.EmitResult.FAIL_NON_SERIALIZED;
+
+    private final ReactiveExtensionClient client;
     private final NotificationReasonEmitter notificationReasonEmitter;
     private final ExternalLinkProcessor externalLinkProcessor;
 
+    private final Sinks.Many<Comment> newComments =
+        Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(QUEUE_CAPACITY));
+
+    private final LruCache<String, MomentPayload> payloadCache =
+        new LruCache<>(PAYLOAD_CACHE_CAPACITY);
+
+    private final Counter dropped;
+
+    private final Gauge queueDepth;
+
+    private Disposable subscription;
+
+    public CommentNotificationReasonPublisher(ReactiveExtensionClient client,
+        NotificationReasonEmitter notificationReasonEmitter,
+        ExternalLinkProcessor externalLinkProcessor) {
+        this.client = client;
+        this.notificationReasonEmitter = notificationReasonEmitter;
+        this.externalLinkProcessor = externalLinkProcessor;
+        this.dropped = Metrics.counter("moments.comment.notification.dropped");
+        this.queueDepth = Gauge.builder("moments.comment.notification.queue", newComments,
+                sink -> sink.scanOrDefault(Scannable.Attr.BUFFERED, 0))
+            .register(Metrics.globalRegistry);
+    }
+
     /**
      * On new comment.
      */
-    @Async
     @EventListener(MomentHasNewCommentEvent.class)
     public void onNewComment(MomentHasNewCommentEvent event) {
         Comment comment = event.getComment();
@@ -57,55 +124,177 @@ public class CommentNotificationReasonPublisher {
         if (annotations.containsKey(NOTIFIED_ANNO)) {
             return;
         }
-        publishReasonBy(comment);
-        markAsNotified(comment.getMetadata().getName());
+        try {
+            newComments.emitNext(comment, RETRY_NON_SERIALIZED);
+        } catch (Sinks.EmissionException e) {
+            dropped.increment();
+            log.warn("Dropped the notification of comment {}, the queue is full",
+                comment.getMetadata().getName());
+        }
     }
 
-    private void markAsNotified(String commentName) {
-        client.fetch(Comment.class, commentName).ifPresent(latestComment -> {
-            MetadataUtil.nullSafeAnnotations(latestComment).put(NOTIFIED_ANNO, "true");
-            client.update(latestComment);
-        });
+    @Override
+    public void afterPropertiesSet() {
+        subscription = newComments.asFlux()
+            .bufferTimeout(MAX_BATCH_SIZE, BATCH_WINDOW, true)
+            .concatMap(batch -> notifyAll(batch)
+                .onErrorResume(error -> {
+                    log.warn("Failed to notify {} new comments on moments", batch.size(), error);
+                    return Mono.empty();
+                })
+            )
+            .subscribe();
     }
 
-    public void publishReasonBy(Comment comment) {
-        Ref subjectRef = comment.getSpec().getSubjectRef();
-        var moment = client.fetch(Moment.class, subjectRef.getName()).orElseThrow();
-        if (doNotEmitReason(comment, moment)) {
-            return;
+    @Override
+    public void destroy() {
+        var pending = newComments.scanOrDefault(Scannable.Attr.BUFFERED, 0);
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        if (pending > 0) {
+            dropped.increment(pending);
+            log.warn("Dropped the notifications of {} queued comments, the plugin is stopping",
+                pending);
         }
+        Metrics.globalRegistry.remove(queueDepth);
+        Metrics.globalRegistry.remove(dropped);
+    }
 
-        String momentUrl =
-            externalLinkProcessor.processLink("/moments/" + moment.getMetadata().getName());
-        var reasonSubject = Reason.Subject.builder()
-            .apiVersion(moment.getApiVersion())
-            .kind(moment.getKind())
-            .title("瞬间：" + moment.getMetadata().getName())
-            .name(subjectRef.getName())
-            .url(momentUrl)
-            .build();
+    private Mono<Void> notifyAll(List<Comment> comments) {
+        var momentNames = comments.stream()
+            .map(comment -> comment.getSpec().getSubjectRef().getName())
+            .collect(Collectors.toSet());
+        var listOptions = new ListOptions();
+        listOptions.setFieldSelector(FieldSelector.of(in("metadata.name", momentNames)));
+        return client.listAll(Moment.class, listOptions, Sort.unsorted())
+            .collectMap(moment -> moment.getMetadata().getName())
+            .flatMapMany(moments -> Flux.fromIterable(comments)
+                .flatMap(comment -> {
+                    var moment = moments.get(comment.getSpec().getSubjectRef().getName());
+                    if (moment == null) {
+                        return Mono.empty();
+                    }
+                    return publishReasonBy(comment, moment)
+                        .thenReturn(comment.getMetadata().getName())
+                        .onErrorResume(error -> {
+                            log.warn("Failed to notify new comment {}",
+                                comment.getMetadata().getName(), error);
+                            return Mono.empty();
+                        });
+                }, CONCURRENCY)
+            )
+            .collectList()
+            .flatMap(this::markAllAsNotified);
+    }
 
-        var momentContent =
-            defaultIfNull(moment.getSpec().getContent(), new Moment.MomentContent());
+    /**
+     * Marks the notified comments of a batch, the latest comments are read with a single query.
+     * Halo has no bulk update, so every comment is still written on its own, and only a comment
+     * changed concurrently is fetched again.
+     */
+    private Mono<Void> markAllAsNotified(List<String> commentNames) {
+        if (commentNames.isEmpty()) {
+            return Mono.empty();
+        }
+        var listOptions = new ListOptions();
+        listOptions.setFieldSelector(FieldSelector.of(in("metadata.name", commentNames)));
+        return client.listAll(Comment.class, listOptions, Sort.unsorted())
+            .flatMap(comment -> {
+                var commentName = comment.getMetadata().getName();
+                var annotations = MetadataUtil.nullSafeAnnotations(comment);
+                if (annotations.put(NOTIFIED_ANNO, "true") != null) {
+                    return Mono.empty();
+                }
+                return client.update(comment)
+                    .then()
+                    .onErrorResume(OptimisticLockingFailureException.class,
+                        error -> markAsNotified(commentName))
+                    .onErrorResume(error -> {
+                        log.warn("Failed to mark comment {} as notified", commentName, error);
+                        return Mono.empty();
+                    });
+            }, CONCURRENCY)
+            .then();
+    }
+
+    private Mono<Void> markAsNotified(String commentName) {
+        return Mono.defer(() -> client.fetch(Comment.class, commentName)
+                .flatMap(latestComment -> {
+                    MetadataUtil.nullSafeAnnotations(latestComment).put(NOTIFIED_ANNO, "true");
+                    return client.update(latestComment);
+                })
+            )
+            .retryWhen(Retry.backoff(8, Duration.ofMillis(100))
+                .filter(OptimisticLockingFailureException.class::isInstance))
+            .then();
+    }
+
+    Mono<Void> publishReasonBy(Comment comment, Moment moment) {
+        if (doNotEmitReason(comment, moment)) {
+            return Mono.empty();
+        }
+        var payload = getPayload(moment);
         var owner = comment.getSpec().getOwner();
-        notificationReasonEmitter.emit(NEW_COMMENT_ON_MOMENT,
+        return notificationReasonEmitter.emit(NEW_COMMENT_ON_MOMENT,
             builder -> {
                 var attributes = CommentOnMomentReasonData.builder()
-                    .momentName(moment.getMetadata().getName())
-                    .momentOwner(moment.getSpec().getOwner())
-                    .momentCreatedAt(
-                        DEFAULT_DATE_FORMATTER.format(moment.getMetadata().getCreationTimestamp()))
-                    .momentHtmlContent(cleanHtmlTag(momentContent.getHtml(), Safelist.basic()))
-                    .momentRawContent(cleanHtmlTag(momentContent.getRaw(), Safelist.simpleText()))
-                    .momentUrl(momentUrl)
+                    .momentName(payload.momentName())
+                    .momentOwner(payload.momentOwner())
+                    .momentCreatedAt(payload.momentCreatedAt())
+                    .momentHtmlContent(payload.momentHtmlContent())
+                    .momentRawContent(payload.momentRawContent())
+                    .momentUrl(payload.momentUrl())
                     .commenter(owner.getDisplayName())
                     .content(comment.getSpec().getContent())
                     .commentName(comment.getMetadata().getName())
                     .build();
-                builder.attributes(toAttributeMap(attributes))
+                builder.attributes(attributes.toAttributeMap())
                     .author(identityFrom(owner))
-                    .subject(reasonSubject);
-            }).block();
+                    .subject(payload.subject());
+            });
+    }
+
+    /**
+     * Gets the comment independent part of the reason of the given moment, it is computed once
+     * per moment version.
+     */
+    MomentPayload getPayload(Moment moment) {
+        var name = moment.getMetadata().getName();
+        var version = moment.getMetadata().getVersion();
+        var cached = payloadCache.get(name);
+        if (cached != null && Objects.equals(cached.version(), version)) {
+            return cached;
+        }
+        String momentUrl = externalLinkProcessor.processLink("/moments/" + name);
+        var reasonSubject = Reason.Subject.builder()
+            .apiVersion(moment.getApiVersion())
+            .kind(moment.getKind())
+            .title("瞬间：" + name)
+            .name(name)
+            .url(momentUrl)
+            .build();
+        var momentContent =
+            defaultIfNull(moment.getSpec().getContent(), new Moment.MomentContent());
+        var payload = new MomentPayload(version, name, moment.getSpec().getOwner(),
+            DEFAULT_DATE_FORMATTER.format(moment.getMetadata().getCreationTimestamp()),
+            cleanHtmlTag(momentContent.getHtml(), Safelist.basic()),
+            cleanHtmlTag(momentContent.getRaw(), Safelist.simpleText()),
+            momentUrl, reasonSubject);
+        if (version != null) {
+            payloadCache.put(name, payload);
+        }
+        return payload;
+    }
+
+    @EventListener(MomentUpdatedEvent.class)
+    public void onMomentUpdated(MomentUpdatedEvent event) {
+        payloadCache.remove(event.getMomentName());
+    }
+
+    @EventListener(MomentDeletedEvent.class)
+    public void onMomentDeleted(MomentDeletedEvent event) {
+        payloadCache.remove(event.getMomentName());
     }
 
     static String cleanHtmlTag(String html, Safelist safelist) {
@@ -115,12 +304,6 @@ public class CommentNotificationReasonPublisher {
         return Jsoup.clean(html, safelist);
     }
 
-    static <T> Map<String, Object> toAttributeMap(T data) {
-        Assert.notNull(data, "Reason attributes must not be null");
-        return JsonUtils.mapper().convertValue(data, new TypeReference<>() {
-        });
-    }
-
     static UserIdentity identityFrom(Comment.CommentOwner owner) {
         if (Comment.CommentOwner.KIND_EMAIL.equals(owner.getKind())) {
             return UserIdentity.anonymousWithEmail(owner.getName());
@@ -144,5 +327,34 @@ public class CommentNotificationReasonPublisher {
                                      String momentHtmlContent, String momentRawContent,
                                      String momentUrl, String commenter, String content,
                                      String commentName) {
+
+        /**
+         * Converts to reason attributes, {@code null} values are omitted.
+         */
+        Map<String, Object> toAttributeMap() {
+            var attributes = new LinkedHashMap<String, Object>();
+            putIfNotNull(attributes, "momentName", momentName);
+            putIfNotNull(attributes, "momentOwner", momentOwner);
+            putIfNotNull(attributes, "momentCreatedAt", momentCreatedAt);
+            putIfNotNull(attributes, "momentHtmlContent", momentHtmlContent);
+            putIfNotNull(attributes, "momentRawContent", momentRawContent);
+            putIfNotNull(attributes, "momentUrl", momentUrl);
+            putIfNotNull(attributes, "commenter", commenter);
+            putIfNotNull(attributes, "content", content);
+            putIfNotNull(attributes, "commentName", commentName);
+            return attributes;
+        }
+
+        private static void putIfNotNull(Map<String, Object> attributes, String key,
+            @Nullable Object value) {
+            if (value != null) {
+                attributes.put(key, value);
+            }
+        }
+    }
+
+    record MomentPayload(Long version, String momentName, String momentOwner,
+                         String momentCreatedAt, String momentHtmlContent,
+                         String momentRawContent, String momentUrl, Reason.Subject subject) {
     }
 }
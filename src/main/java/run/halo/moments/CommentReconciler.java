@@ -1,10 +1,13 @@
 package run.halo.moments;
 
+import static run.halo.app.extension.index.query.QueryFactory.startsWith;
+
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import run.halo.app.core.extension.content.Comment;
+import run.halo.app.extension.DefaultExtensionMatcher;
 import run.halo.app.extension.ExtensionClient;
 import run.halo.app.extension.ExtensionUtil;
 import run.halo.app.extension.GroupVersionKind;
@@ -12,6 +15,7 @@ import run.halo.app.extension.Ref;
 import run.halo.app.extension.controller.Controller;
 import run.halo.app.extension.controller.ControllerBuilder;
 import run.halo.app.extension.controller.Reconciler;
+import run.halo.app.extension.router.selector.FieldSelector;
 import run.halo.moments.event.MomentHasNewCommentEvent;
 
 /**
@@ -25,11 +29,17 @@ import run.halo.moments.event.MomentHasNewCommentEvent;
 public class CommentReconciler implements Reconciler<Reconciler.Request> {
 
     private static final String FINALIZER = "moment.halo.run/finalizer";
+    private static final String MOMENT_SUBJECT_PREFIX = "moment.halo.run/Moment/";
     private final ExtensionClient client;
     private final ApplicationEventPublisher eventPublisher;
+    private final ReconcilerTuning reconcilerTuning;
 
     @Override
     public Result reconcile(Request request) {
+        return reconcilerTuning.record("comment", () -> doReconcile(request));
+    }
+
+    private Result doReconcile(Request request) {
         client.fetch(Comment.class, request.name()).ifPresent(comment -> {
             if (comment.getMetadata().getDeletionTimestamp() != null) {
                 if (ExtensionUtil.removeFinalizers(comment.getMetadata(), Set.of(FINALIZER))) {
@@ -54,8 +64,16 @@ public class CommentReconciler implements Reconciler<Reconciler.Request> {
 
     @Override
     public Controller setupWith(ControllerBuilder builder) {
+        var comment = new Comment();
+        // only watch comments on moments, the subject ref is indexed as "group/kind/name"
+        var onMoment = DefaultExtensionMatcher.builder(client, comment.groupVersionKind())
+            .fieldSelector(FieldSelector.of(startsWith("spec.subjectRef", MOMENT_SUBJECT_PREFIX)))
+            .build();
         return builder
-            .extension(new Comment())
+            .extension(comment)
+            .onAddMatcher(onMoment)
+            .onUpdateMatcher(onMoment)
+            .workerCount(reconcilerTuning.workerCount("comment", 1, 1))
             // avoid triggering notification on startup for old comments
             .syncAllOnStart(false)
             .build();
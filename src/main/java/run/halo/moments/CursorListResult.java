@@ -0,0 +1,63 @@
+package run.halo.moments;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.lang.Nullable;
+import run.halo.app.extension.ListResult;
+
+/**
+ * A page of a cursor paginated list.
+ *
+ * @param <T> item type
+ * @since 1.17.0
+ */
+@Data
+@AllArgsConstructor
+public class CursorListResult<T> {
+
+    @Schema(requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<T> items;
+
+    @Schema(requiredMode = Schema.RequiredMode.REQUIRED, description = "Requested page size.")
+    private int size;
+
+    @Schema(requiredMode = Schema.RequiredMode.REQUIRED)
+    private boolean hasNext;
+
+    @Nullable
+    @Schema(description = "Cursor of the next page, absent on the last page.")
+    private String nextCursor;
+
+    public static <T> CursorListResult<T> empty(int size) {
+        return new CursorListResult<>(List.of(), size, false, null);
+    }
+
+    /**
+     * Creates a cursor page from the first page of moments queried after a cursor.
+     *
+     * @param page the first page of moments after the cursor, sorted by {@link MomentCursor#SORT}
+     * @return a cursor page with the cursor of its last moment
+     */
+    public static CursorListResult<Moment> of(ListResult<Moment> page) {
+        var items = page.getItems();
+        var hasNext = page.hasNext() && !items.isEmpty();
+        var nextCursor = hasNext ? MomentCursor.of(items.get(items.size() - 1)).encode() : null;
+        return new CursorListResult<>(items, page.getSize(), hasNext, nextCursor);
+    }
+
+    public <R> CursorListResult<R> withItems(List<R> items) {
+        return new CursorListResult<>(items, size, hasNext, nextCursor);
+    }
+
+    /**
+     * Schema of a cursor page of {@link ListedMoment}s, only used by the API documentation.
+     */
+    @Schema(name = "ListedMomentCursorList")
+    public static class ListedMomentCursorList extends CursorListResult<ListedMoment> {
+        public ListedMomentCursorList() {
+            super(List.of(), 0, false, null);
+        }
+    }
+}
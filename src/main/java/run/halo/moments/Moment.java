@@ -21,6 +21,16 @@ import run.halo.app.extension.GVK;
 public class Moment extends AbstractExtension {
     public static final String REQUIRE_SYNC_ON_STARTUP_INDEX_NAME = "requireSyncOnStartup";
 
+    /**
+     * Index of the release time of public and approved moments, other moments are not indexed.
+     */
+    public static final String PUBLIC_TIMELINE_INDEX_NAME = "publicTimeline";
+
+    /**
+     * Index of moments whose search document has to be rebuilt or deleted.
+     */
+    public static final String SEARCH_INDEX_PENDING_INDEX_NAME = "searchIndexPending";
+
     @Schema(requiredMode = REQUIRED)
     private MomentSpec spec;
 
@@ -57,6 +67,9 @@ public class Moment extends AbstractExtension {
         private long observedVersion;
 
         private String permalink;
+
+        @Schema(description = "Digest of the last reconciled spec.")
+        private String specDigest;
     }
 
     @Data
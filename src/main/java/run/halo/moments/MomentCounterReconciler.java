@@ -0,0 +1,64 @@
+package run.halo.moments;
+
+import static run.halo.app.extension.index.query.QueryFactory.startsWith;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import run.halo.app.core.extension.Counter;
+import run.halo.app.extension.DefaultExtensionMatcher;
+import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.ExtensionUtil;
+import run.halo.app.extension.controller.Controller;
+import run.halo.app.extension.controller.ControllerBuilder;
+import run.halo.app.extension.controller.Reconciler;
+import run.halo.app.extension.router.selector.FieldSelector;
+import run.halo.moments.service.MomentStatsCache;
+import run.halo.moments.service.MomentVersionTracker;
+
+/**
+ * Watches the {@link Counter}s of moments to keep the {@link MomentStatsCache} fresh and to
+ * expire the validators of the pages showing changed stats.
+ *
+ * @since 1.17.0
+ */
+@Component
+@RequiredArgsConstructor
+public class MomentCounterReconciler implements Reconciler<Reconciler.Request> {
+
+    private final ExtensionClient client;
+
+    private final MomentStatsCache momentStatsCache;
+
+    private final MomentVersionTracker versionTracker;
+
+    @Override
+    public Result reconcile(Request request) {
+        client.fetch(Counter.class, request.name())
+            .filter(counter -> !ExtensionUtil.isDeleted(counter))
+            .ifPresentOrElse(counter -> {
+                // the rendered pages show the stats, but a visit alone does not change them
+                if (momentStatsCache.put(counter)) {
+                    versionTracker.onStatsChanged(
+                        MomentStatsCache.momentNameOf(request.name()));
+                }
+            }, () -> momentStatsCache.remove(request.name()));
+        return Result.doNotRetry();
+    }
+
+    @Override
+    public Controller setupWith(ControllerBuilder builder) {
+        final var counter = new Counter();
+        // counters of posts, pages and other plugins are not cached
+        var ofMoment = DefaultExtensionMatcher.builder(client, counter.groupVersionKind())
+            .fieldSelector(FieldSelector.of(
+                startsWith("metadata.name", MomentStatsCache.COUNTER_NAME_PREFIX)))
+            .build();
+        return builder
+            .extension(counter)
+            .onAddMatcher(ofMoment)
+            .onUpdateMatcher(ofMoment)
+            // the cache loads all counters on first read, there is nothing to sync
+            .syncAllOnStart(false)
+            .build();
+    }
+}
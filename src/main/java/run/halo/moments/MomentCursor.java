@@ -0,0 +1,113 @@
+package run.halo.moments;
+
+import static run.halo.app.extension.index.query.QueryFactory.and;
+import static run.halo.app.extension.index.query.QueryFactory.equal;
+import static run.halo.app.extension.index.query.QueryFactory.greaterThan;
+import static run.halo.app.extension.index.query.QueryFactory.isNull;
+import static run.halo.app.extension.index.query.QueryFactory.lessThan;
+import static run.halo.app.extension.index.query.QueryFactory.or;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.web.server.ServerWebInputException;
+import run.halo.app.extension.index.query.Query;
+
+/**
+ * <p>A continuation token of a moment timeline, which points right after the given moment.</p>
+ * <p>The timeline is ordered by {@link #SORT}, i.e. newest release first and then by name. A
+ * page after a cursor is found by seeking through the {@code spec.releaseTime} index instead
+ * of skipping the previous pages, so every page costs the same and concurrent inserts do not
+ * shift the following pages.</p>
+ *
+ * @param releaseTime release time of the last moment of the previous page
+ * @param name name of the last moment of the previous page
+ * @since 1.17.0
+ */
+public record MomentCursor(@Nullable Instant releaseTime, String name) {
+
+    public static final Sort SORT = sort("spec.releaseTime");
+
+    private static final char SEPARATOR = '|';
+
+    public static MomentCursor of(Moment moment) {
+        return new MomentCursor(moment.getSpec().getReleaseTime(),
+            moment.getMetadata().getName());
+    }
+
+    /**
+     * Decodes an opaque cursor.
+     *
+     * @param cursor the encoded cursor, blank for the start of the timeline
+     * @return the decoded cursor, {@code null} for the start of the timeline
+     * @throws ServerWebInputException if the cursor is malformed
+     */
+    @Nullable
+    public static MomentCursor decode(@Nullable String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor),
+                StandardCharsets.UTF_8);
+            var separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0 || separator == decoded.length() - 1) {
+                throw new ServerWebInputException("Invalid cursor.");
+            }
+            var releaseTime = separator == 0 ? null
+                : Instant.parse(decoded.substring(0, separator));
+            return new MomentCursor(releaseTime, decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ServerWebInputException("Invalid cursor.");
+        }
+    }
+
+    public String encode() {
+        var raw = (releaseTime == null ? "" : releaseTime.toString()) + SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the timeline order on the given release time index.
+     *
+     * @param releaseTimeIndex name of an index of the release time
+     * @return newest release first and then by name
+     */
+    public static Sort sort(String releaseTimeIndex) {
+        return Sort.by(Sort.Order.desc(releaseTimeIndex), Sort.Order.asc("metadata.name"));
+    }
+
+    /**
+     * Builds the query of the moments after this cursor in the {@link #SORT} order. Moments
+     * without a release time come last.
+     *
+     * @return the seek query
+     */
+    public Query seekQuery() {
+        return seekQuery("spec.releaseTime");
+    }
+
+    /**
+     * Builds the query of the moments after this cursor in the {@link #sort(String)} order of
+     * the given release time index. Moments without an index value come last.
+     *
+     * @param releaseTimeIndex name of an index of the release time
+     * @return the seek query
+     */
+    public Query seekQuery(String releaseTimeIndex) {
+        if (releaseTime == null) {
+            return and(isNull(releaseTimeIndex), greaterThan("metadata.name", name));
+        }
+        var time = releaseTime.toString();
+        return or(
+            lessThan(releaseTimeIndex, time),
+            and(equal(releaseTimeIndex, time), greaterThan("metadata.name", name)),
+            isNull(releaseTimeIndex)
+        );
+    }
+}
@@ -8,7 +8,7 @@ import static org.springdoc.core.fn.builders.requestbody.Builder.requestBodyBuil
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import java.time.Instant;
 import lombok.AllArgsConstructor;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.springdoc.core.fn.builders.schema.Builder;
 import org.springdoc.webflux.core.fn.SpringdocRouteBuilder;
 import org.springframework.http.MediaType;
@@ -50,6 +50,15 @@ public class MomentEndpoint implements CustomEndpoint {
                     );
                 MomentQuery.buildParameters(builder);
             })
+            .GET("moments/-/cursor", this::listMomentByCursor, builder -> {
+                builder.operationId("ListMomentsByCursor")
+                    .description("List moments by cursor, newest first.")
+                    .tag(tag)
+                    .response(responseBuilder()
+                        .implementation(CursorListResult.ListedMomentCursorList.class)
+                    );
+                MomentQuery.buildCursorParameters(builder);
+            })
             .GET("moments/{name}", this::getMoment,
                 builder -> builder.operationId("GetMoment")
                     .description("Get a moment by name.")
@@ -75,6 +84,13 @@ public class MomentEndpoint implements CustomEndpoint {
                         .required(false)
                         .implementation(String.class)
                     )
+                    .parameter(parameterBuilder()
+                        .name("limit")
+                        .in(ParameterIn.QUERY)
+                        .description("Max number of tags, no limit if absent")
+                        .required(false)
+                        .implementation(Integer.class)
+                    )
                     .response(responseBuilder()
                         .implementationArray(String.class)
                     ))
@@ -123,13 +139,17 @@ public class MomentEndpoint implements CustomEndpoint {
             .flatMap(listedMoments -> ServerResponse.ok().bodyValue(listedMoments));
     }
 
+    private Mono<ServerResponse> listMomentByCursor(ServerRequest serverRequest) {
+        MomentQuery query = new MomentQuery(serverRequest.exchange());
+        return momentService.listMomentAfter(query)
+            .flatMap(listedMoments -> ServerResponse.ok().bodyValue(listedMoments));
+    }
+
     private Mono<ServerResponse> listMyTags(ServerRequest request) {
         String name = request.queryParam("name").orElse(null);
+        int limit = request.queryParam("limit").map(NumberUtils::toInt).orElse(0);
         return getCurrentUser()
-            .map(username -> new MomentQuery(request.exchange(), username))
-            .flatMapMany(momentService::listAllTags)
-            .filter(tagName -> StringUtils.isBlank(name) || StringUtils.containsIgnoreCase(tagName,
-                name))
+            .flatMapMany(username -> momentService.listTags(username, name, limit))
             .collectList()
             .flatMap(result -> ServerResponse.ok().bodyValue(result));
     }
@@ -3,7 +3,6 @@ package run.halo.moments;
 import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
 import static run.halo.app.extension.index.query.QueryFactory.all;
 import static run.halo.app.extension.index.query.QueryFactory.and;
-import static run.halo.app.extension.index.query.QueryFactory.contains;
 import static run.halo.app.extension.index.query.QueryFactory.equal;
 import static run.halo.app.extension.index.query.QueryFactory.greaterThanOrEqual;
 import static run.halo.app.extension.index.query.QueryFactory.lessThanOrEqual;
@@ -56,6 +55,12 @@ public class MomentQuery extends SortableRequest {
         return StringUtils.defaultIfBlank(queryParams.getFirst("keyword"), null);
     }
 
+    @Nullable
+    @Schema(description = "Continuation token of the previous page, empty for the first page.")
+    public MomentCursor getCursor() {
+        return MomentCursor.decode(queryParams.getFirst("cursor"));
+    }
+
     @Schema(description = "Owner name.")
     public String getOwnerName() {
         if (StringUtils.isNotBlank(username)) {
@@ -89,7 +94,8 @@ public class MomentQuery extends SortableRequest {
     }
 
     /**
-     * Build {@link ListOptions} from query params.
+     * Build {@link ListOptions} from query params, except the keyword which is matched by the
+     * search engine.
      *
      * @return a list options.
      */
@@ -121,9 +127,6 @@ public class MomentQuery extends SortableRequest {
         if (listOptions.getFieldSelector() != null) {
             query = and(query, listOptions.getFieldSelector().query());
         }
-        if (StringUtils.isNotBlank(getKeyword())) {
-            query = and(query, contains("spec.owner", getKeyword()));
-        }
         listOptions.setFieldSelector(FieldSelector.of(query));
         return listOptions;
     }
@@ -197,4 +200,22 @@ public class MomentQuery extends SortableRequest {
         ;
     }
 
+    /**
+     * Builds the parameters of a cursor paginated list, the page and sort parameters are
+     * accepted but ignored.
+     *
+     * @param builder operation builder
+     */
+    public static void buildCursorParameters(Builder builder) {
+        buildParameters(builder);
+        builder.parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name("cursor")
+            .description("""
+                The nextCursor of the previous page, absent or empty for the first page. \
+                Moments are listed newest first, the page and sort parameters are ignored.""")
+            .implementation(String.class)
+            .required(false));
+    }
+
 }
@@ -3,6 +3,7 @@ package run.halo.moments;
 import static run.halo.app.extension.index.query.QueryFactory.equal;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
@@ -18,6 +19,7 @@ import run.halo.app.extension.router.selector.FieldSelector;
 import run.halo.app.notification.NotificationCenter;
 import run.halo.moments.event.MomentDeletedEvent;
 import run.halo.moments.event.MomentUpdatedEvent;
+import run.halo.moments.util.FieldDigest;
 
 /**
  * {@link Reconciler} for {@link Moment}.
@@ -33,9 +35,14 @@ public class MomentReconciler implements Reconciler<Reconciler.Request> {
     private final ExtensionClient client;
     private final NotificationCenter notificationCenter;
     private final ApplicationEventPublisher eventPublisher;
+    private final ReconcilerTuning reconcilerTuning;
 
     @Override
     public Result reconcile(Request request) {
+        return reconcilerTuning.record("moment", () -> doReconcile(request));
+    }
+
+    private Result doReconcile(Request request) {
         client.fetch(Moment.class, request.name()).ifPresent(moment -> {
             if (ExtensionUtil.isDeleted(moment)) {
                 if (ExtensionUtil.removeFinalizers(moment.getMetadata(), Set.of(FINALIZER))) {
@@ -44,30 +51,102 @@ public class MomentReconciler implements Reconciler<Reconciler.Request> {
                 }
                 return;
             }
+            var changed = false;
             if (ExtensionUtil.addFinalizers(moment.getMetadata(), Set.of(FINALIZER))) {
                 // auto subscribe to new comment on moment
                 createCommentSubscriptionForMoment(moment);
+                changed = true;
             }
-            var status = moment.getStatus();
-            if (status == null) {
-                status = new Moment.Status();
-                moment.setStatus(status);
-            }
-            status.setObservedVersion(moment.getMetadata().getVersion() + 1);
             // add approved marks to the old data by default.
             if (moment.getSpec().getApproved() == null) {
                 moment.getSpec().setApproved(true);
+                changed = true;
             }
             if (moment.getSpec().getApproved() && moment.getSpec().getApprovedTime() == null) {
                 moment.getSpec().setApprovedTime(Instant.now());
+                changed = true;
+            }
+            var status = moment.getStatus();
+            if (status == null) {
+                status = new Moment.Status();
+                moment.setStatus(status);
             }
+            var specDigest = specDigest(moment.getSpec());
+            var contentChanged = !specDigest.equals(status.getSpecDigest());
+            if (!changed && !contentChanged && isObserved(moment)) {
+                // nothing to write, e.g. only the status or annotations were changed
+                return;
+            }
+            // a write that did not change the spec is acknowledged as well, so that the moment
+            // is not synced again on the next startup
+            status.setSpecDigest(specDigest);
+            status.setObservedVersion(moment.getMetadata().getVersion() + 1);
             client.update(moment);
 
-            eventPublisher.publishEvent(new MomentUpdatedEvent(this, request.name()));
+            if (contentChanged) {
+                eventPublisher.publishEvent(new MomentUpdatedEvent(this, request.name()));
+            }
         });
         return Result.doNotRetry();
     }
 
+    /**
+     * <p>Whether the moment has not been reconciled since it was last written.</p>
+     * <p>It is evaluated by an index function on every write, so it only compares the version
+     * the reconciler observed with the current one instead of digesting the spec.</p>
+     */
+    static boolean requiresSync(Moment moment) {
+        var finalizers = moment.getMetadata().getFinalizers();
+        var hasFinalizer = finalizers != null && finalizers.contains(FINALIZER);
+        if (ExtensionUtil.isDeleted(moment)) {
+            return hasFinalizer;
+        }
+        var status = moment.getStatus();
+        return !hasFinalizer || status == null || status.getSpecDigest() == null
+            || !isObserved(moment);
+    }
+
+    private static boolean isObserved(Moment moment) {
+        var version = moment.getMetadata().getVersion();
+        return version != null && moment.getStatus() != null
+            && moment.getStatus().getObservedVersion() == version;
+    }
+
+    /**
+     * Keeps a reconciled moment from being synced again because of a write that does not
+     * change its spec, call it right before updating only the metadata of the moment.
+     *
+     * @param moment the moment about to be updated
+     */
+    public static void keepObserved(Moment moment) {
+        if (isObserved(moment)) {
+            moment.getStatus().setObservedVersion(moment.getMetadata().getVersion() + 1);
+        }
+    }
+
+    /**
+     * Computes the digest of everything in the spec that is visible to readers.
+     */
+    static String specDigest(Moment.MomentSpec spec) {
+        var content = spec.getContent();
+        var medium = content == null || content.getMedium() == null
+            ? List.<Moment.MomentMedia>of() : content.getMedium();
+        var digest = FieldDigest.sha256()
+            .add(content == null ? null : content.getRaw())
+            .add(content == null ? null : content.getHtml())
+            .add(medium.size());
+        medium.forEach(media -> digest.add(media.getType())
+            .add(media.getUrl())
+            .add(media.getOriginType()));
+        return digest.add(spec.getReleaseTime())
+            .add(spec.getVisible())
+            .add(spec.getOwner())
+            .addSorted(spec.getTags())
+            .add(spec.getApproved())
+            .add(spec.getApprovedTime())
+            .hex();
+    }
+
     void createCommentSubscriptionForMoment(Moment moment) {
         var owner = moment.getSpec().getOwner();
         var interestReason = new Subscription.InterestReason();
@@ -83,7 +162,7 @@ public class MomentReconciler implements Reconciler<Reconciler.Request> {
         final var moment = new Moment();
         return builder
             .extension(moment)
-            .workerCount(5)
+            .workerCount(reconcilerTuning.workerCount("moment", 5, 2))
             .onAddMatcher(DefaultExtensionMatcher.builder(client, moment.groupVersionKind())
                 .fieldSelector(
                     FieldSelector.of(equal(Moment.REQUIRE_SYNC_ON_STARTUP_INDEX_NAME, "true"))
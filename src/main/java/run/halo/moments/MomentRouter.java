@@ -4,12 +4,18 @@ import static org.springframework.web.reactive.function.server.RequestPredicates
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 import static run.halo.app.theme.router.PageUrlUtils.totalPage;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.CacheControl;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.HandlerFunction;
 import org.springframework.web.reactive.function.server.RouterFunction;
@@ -21,6 +27,8 @@ import run.halo.app.plugin.ReactiveSettingFetcher;
 import run.halo.app.theme.router.PageUrlUtils;
 import run.halo.app.theme.router.UrlContextListResult;
 import run.halo.moments.finders.MomentFinder;
+import run.halo.moments.service.MomentVersionTracker;
+import run.halo.moments.util.LruCache;
 import run.halo.moments.vo.MomentVo;
 
 
@@ -38,10 +46,22 @@ import run.halo.moments.vo.MomentVo;
 @RequiredArgsConstructor
 public class MomentRouter {
     private static final String TAG_PARAM = "tag";
+
+    /**
+     * Time to live of the cached page models. Moment and setting changes invalidate the cache
+     * immediately through the content generation, the TTL only bounds the staleness of data
+     * that is not tracked, e.g. contributors.
+     */
+    private static final Duration MODEL_CACHE_TTL = Duration.ofSeconds(30);
+
     private final MomentFinder momentFinder;
 
     private final ReactiveSettingFetcher settingFetcher;
 
+    private final MomentVersionTracker versionTracker;
+
+    private final LruCache<String, Mono<?>> modelCache = new LruCache<>(256);
+
     @Bean
     RouterFunction<ServerResponse> momentRouterFunction() {
         return route(GET("/moments").or(GET("/moments/page/{page:\\d+}")), handlerFunction())
@@ -51,8 +71,9 @@ public class MomentRouter {
     private HandlerFunction<ServerResponse> handlerMomentDefault() {
         return request -> {
             String momentName = request.pathVariable("momentName");
-            return ServerResponse.ok().render("moment",
-                Map.of("moment", momentFinder.get(momentName),
+            return render(request, versionTracker.momentVersion(momentName), "moment",
+                () -> Map.of("moment", cached("moment:" + momentName,
+                        () -> momentFinder.get(momentName)),
                     ModelConst.TEMPLATE_ID, "moment",
                     "title", getMomentTitle())
             );
@@ -60,19 +81,76 @@ public class MomentRouter {
     }
 
     private HandlerFunction<ServerResponse> handlerFunction() {
-        return request -> ServerResponse.ok().render("moments",
-            Map.of("moments", momentList(request),
+        return request -> render(request, versionTracker.collectionVersion(), "moments",
+            () -> Map.of("moments", momentList(request),
                 ModelConst.TEMPLATE_ID, "moments",
-                "tags", momentFinder.listAllTags(),
+                "tags", cached("tags", () -> momentFinder.listAllTags().collectList()),
                 "title", getMomentTitle()
             )
         );
     }
 
+    /**
+     * <p>Renders a page for anonymous visitors with {@code ETag} and {@code Last-Modified}
+     * validators and answers their conditional requests with 304 before any query runs.</p>
+     * <p>Pages rendered for signed-in users may contain user specific content, so they are
+     * always rendered and never carry validators, otherwise a browser or a proxy could serve
+     * them to another user or after logout.</p>
+     */
+    private Mono<ServerResponse> render(ServerRequest request,
+        MomentVersionTracker.Version version, String view, Supplier<Map<String, ?>> model) {
+        return isSignedIn().flatMap(signedIn -> {
+            if (signedIn) {
+                return ServerResponse.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .render(view, model.get());
+            }
+            return request.checkNotModified(version.lastModified(), version.tag())
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                    .eTag(version.tag())
+                    .lastModified(version.lastModified())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .render(view, model.get())));
+        });
+    }
+
+    private static Mono<Boolean> isSignedIn() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .filter(authentication -> !(authentication instanceof AnonymousAuthenticationToken))
+            .hasElement();
+    }
+
     Mono<String> getMomentTitle() {
-        return this.settingFetcher.get("base")
-            .map(setting -> setting.get("title").asText("瞬间"))
-            .defaultIfEmpty("瞬间");
+        return getBaseSetting().map(BaseSetting::title);
+    }
+
+    private Mono<BaseSetting> getBaseSetting() {
+        return cached("setting:base", () -> this.settingFetcher.get("base")
+            .map(setting -> new BaseSetting(setting.get("title").asText("瞬间"),
+                setting.get("pageSize").asInt(ModelConst.DEFAULT_PAGE_SIZE)))
+            .defaultIfEmpty(new BaseSetting("瞬间", ModelConst.DEFAULT_PAGE_SIZE))
+        );
+    }
+
+    /**
+     * Caches the resolved value of the given loader for {@link #MODEL_CACHE_TTL} under the
+     * current content generation, so concurrent requests share a single load and reads are
+     * served without touching the extension store until the moments or settings change.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> cached(String key, Supplier<Mono<T>> loader) {
+        var generationKey = versionTracker.generation() + ":" + key;
+        var cached = (Mono<T>) modelCache.get(generationKey);
+        if (cached == null) {
+            cached = Mono.defer(loader)
+                .cache(value -> MODEL_CACHE_TTL, error -> Duration.ZERO, () -> MODEL_CACHE_TTL);
+            modelCache.put(generationKey, cached);
+        }
+        return cached;
+    }
+
+    record BaseSetting(String title, int pageSize) {
     }
 
     private Mono<UrlContextListResult<MomentVo>> momentList(ServerRequest request) {
@@ -82,19 +160,22 @@ public class MomentRouter {
             .orElse(null);
         int pageNum = pageNumInPathVariable(request);
         String tag = tagPathQueryParam(request);
-        return this.settingFetcher.get("base")
-            .map(item -> item.get("pageSize").asInt(10))
-            .defaultIfEmpty(10)
-            .flatMap(pageSize -> momentFinder.listByTag(pageNum, pageSize, tag)
-                .map(list -> new UrlContextListResult.Builder<MomentVo>()
-                    .listResult(list)
-                    .nextUrl(appendTagParamIfPresent(
-                        PageUrlUtils.nextPageUrl(path, totalPage(list)), tagVal)
+        return getBaseSetting()
+            .map(BaseSetting::pageSize)
+            .flatMap(pageSize -> {
+                var key = String.join(":", "moments", path, String.valueOf(pageNum),
+                    String.valueOf(pageSize), String.valueOf(tag), String.valueOf(tagVal));
+                return cached(key, () -> momentFinder.listByTag(pageNum, pageSize, tag)
+                    .map(list -> new UrlContextListResult.Builder<MomentVo>()
+                        .listResult(list)
+                        .nextUrl(appendTagParamIfPresent(
+                            PageUrlUtils.nextPageUrl(path, totalPage(list)), tagVal)
+                        )
+                        .prevUrl(appendTagParamIfPresent(PageUrlUtils.prevPageUrl(path), tagVal))
+                        .build()
                     )
-                    .prevUrl(appendTagParamIfPresent(PageUrlUtils.prevPageUrl(path), tagVal))
-                    .build()
-                )
-            );
+                );
+            });
     }
 
     String appendTagParamIfPresent(String uriString, String tagValue) {
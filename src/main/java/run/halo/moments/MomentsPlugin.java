@@ -3,7 +3,6 @@ package run.halo.moments;
 import static run.halo.app.extension.index.IndexAttributeFactory.multiValueAttribute;
 import static run.halo.app.extension.index.IndexAttributeFactory.simpleAttribute;
 
-import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.context.ApplicationEventPublisher;
@@ -13,6 +12,8 @@ import run.halo.app.extension.SchemeManager;
 import run.halo.app.extension.index.IndexSpec;
 import run.halo.app.plugin.BasePlugin;
 import run.halo.app.plugin.PluginContext;
+import run.halo.moments.finders.impl.MomentFinderImpl;
+import run.halo.moments.search.MomentSearchReconciler;
 
 @Component
 public class MomentsPlugin extends BasePlugin {
@@ -64,13 +65,29 @@ public class MomentsPlugin extends BasePlugin {
                 }))
             );
 
+            indexSpecs.add(new IndexSpec()
+                .setName(Moment.PUBLIC_TIMELINE_INDEX_NAME)
+                .setIndexFunc(simpleAttribute(Moment.class, moment -> {
+                    // only public moments are on the timeline
+                    var releaseTime = MomentFinderImpl.publicTimelineOf(moment);
+                    return releaseTime == null ? null : releaseTime.toString();
+                }))
+            );
+
+            indexSpecs.add(new IndexSpec()
+                .setName(Moment.SEARCH_INDEX_PENDING_INDEX_NAME)
+                .setIndexFunc(simpleAttribute(Moment.class, moment -> {
+                    if (MomentSearchReconciler.isSearchIndexPending(moment)) {
+                        return BooleanUtils.TRUE;
+                    }
+                    // don't care about the false case
+                    return null;
+                })));
+
             indexSpecs.add(new IndexSpec()
                 .setName(Moment.REQUIRE_SYNC_ON_STARTUP_INDEX_NAME)
                 .setIndexFunc(simpleAttribute(Moment.class, moment -> {
-                    var observedVersion = Optional.ofNullable(moment.getStatus())
-                        .map(Moment.Status::getObservedVersion)
-                        .orElse(-1L);
-                    if (observedVersion < moment.getMetadata().getVersion()) {
+                    if (MomentReconciler.requiresSync(moment)) {
                         return BooleanUtils.TRUE;
                     }
                     // don't care about the false case
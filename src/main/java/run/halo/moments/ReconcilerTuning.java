@@ -0,0 +1,144 @@
+package run.halo.moments;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.controller.Reconciler;
+import run.halo.app.plugin.ReactiveSettingFetcher;
+
+/**
+ * <p>Sizes the worker pools of the moment reconcilers and records their metrics.</p>
+ * <p>The worker count of every reconciler is read from the {@code reconciler} setting group
+ * when its controller is set up. This happens once per controller, so the group is read
+ * synchronously, waiting at most {@link #SETTING_TIMEOUT}. A controller whose settings can not be
+ * read in time uses its defaults.</p>
+ * <p>Controllers can not be resized while running, so in adaptive mode the configured count is
+ * only a lower bound, and the pool is grown with the number of available processors, up to
+ * {@link #MAX_WORKER_COUNT}. The pools are not sized by queue depth, since controllers expose
+ * neither their queue nor a way to resize them. Setting changes take effect when the plugin is
+ * restarted.</p>
+ * <p>Every reconcile is recorded in the {@code moments.reconcile.duration} timer and the number
+ * of running reconciles in the {@code moments.reconcile.active} gauge, both tagged with the
+ * reconciler name. The meters are removed from the registry when the plugin stops.</p>
+ *
+ * @since 1.17.0
+ */
+@Slf4j
+@Component
+public class ReconcilerTuning implements DisposableBean {
+
+    static final int MAX_WORKER_COUNT = 32;
+
+    static final Duration SETTING_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ReactiveSettingFetcher settingFetcher;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> activeReconciles = new ConcurrentHashMap<>();
+
+    private final List<Meter> meters = new CopyOnWriteArrayList<>();
+
+    public ReconcilerTuning(ReactiveSettingFetcher settingFetcher) {
+        this.settingFetcher = settingFetcher;
+    }
+
+    /**
+     * Gets the worker count of the given reconciler.
+     *
+     * @param reconciler reconciler name, also the prefix of its setting, e.g. {@code moment}
+     * for {@code momentWorkerCount}
+     * @param defaultCount worker count if not configured
+     * @param workersPerProcessor workers per available processor in adaptive mode, depends on
+     * how much the reconciler waits for I/O
+     * @return the worker count, at least 1
+     */
+    public int workerCount(String reconciler, int defaultCount, int workersPerProcessor) {
+        var setting = readSettings(reconciler);
+        var configured = setting
+            .map(node -> node.path(reconciler + "WorkerCount").asInt(defaultCount))
+            .filter(count -> count > 0)
+            .orElse(defaultCount);
+        var adaptive = setting
+            .map(node -> node.path("adaptive").asBoolean(false))
+            .orElse(false);
+        var workerCount = adaptive ? adaptiveWorkerCount(configured, workersPerProcessor)
+            : Math.min(configured, MAX_WORKER_COUNT);
+        log.info("Starting {} reconciler with {} workers", reconciler, workerCount);
+        return workerCount;
+    }
+
+    private Optional<JsonNode> readSettings(String reconciler) {
+        try {
+            return settingFetcher.get("reconciler")
+                .onErrorResume(error -> {
+                    log.warn("Failed to read the reconciler settings, using the defaults for {}",
+                        reconciler, error);
+                    return Mono.empty();
+                })
+                .blockOptional(SETTING_TIMEOUT);
+        } catch (IllegalStateException e) {
+            log.warn("Timed out reading the reconciler settings, using the defaults for {}",
+                reconciler);
+            return Optional.empty();
+        }
+    }
+
+    static int adaptiveWorkerCount(int configured, int workersPerProcessor) {
+        var processors = Runtime.getRuntime().availableProcessors();
+        var byProcessors = processors * Math.max(workersPerProcessor, 1);
+        return Math.min(Math.max(configured, byProcessors), MAX_WORKER_COUNT);
+    }
+
+    /**
+     * Runs a reconcile and records its duration.
+     *
+     * @param reconciler reconciler name
+     * @param reconcile the reconcile to run
+     * @return the result of the reconcile
+     */
+    public Reconciler.Result record(String reconciler, Supplier<Reconciler.Result> reconcile) {
+        var active = activeReconciles.computeIfAbsent(reconciler, name -> {
+            var count = new AtomicInteger();
+            meters.add(Gauge.builder("moments.reconcile.active", count, AtomicInteger::get)
+                .tag("reconciler", name)
+                .register(Metrics.globalRegistry));
+            return count;
+        });
+        var timer = timers.computeIfAbsent(reconciler, name -> {
+            var registered = Timer.builder("moments.reconcile.duration")
+                .tag("reconciler", name)
+                .register(Metrics.globalRegistry);
+            meters.add(registered);
+            return registered;
+        });
+        active.incrementAndGet();
+        try {
+            return timer.record(reconcile);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        meters.forEach(Metrics.globalRegistry::remove);
+        meters.clear();
+        timers.clear();
+        activeReconciles.clear();
+    }
+}
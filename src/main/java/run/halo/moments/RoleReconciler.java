@@ -0,0 +1,38 @@
+package run.halo.moments;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import run.halo.app.core.extension.Role;
+import run.halo.app.extension.controller.Controller;
+import run.halo.app.extension.controller.ControllerBuilder;
+import run.halo.app.extension.controller.Reconciler;
+import run.halo.moments.service.RoleService;
+
+/**
+ * Watches {@link Role} changes to keep the role dependencies cached by {@link RoleService}
+ * fresh.
+ *
+ * @since 1.17.0
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleReconciler implements Reconciler<Reconciler.Request> {
+
+    private final RoleService roleService;
+
+    @Override
+    public Result reconcile(Request request) {
+        // dependencies and aggregations span roles, so the whole graph is rebuilt lazily
+        roleService.evictCache();
+        return Result.doNotRetry();
+    }
+
+    @Override
+    public Controller setupWith(ControllerBuilder builder) {
+        return builder
+            .extension(new Role())
+            // the graph is built on first use, there is nothing to evict
+            .syncAllOnStart(false)
+            .build();
+    }
+}
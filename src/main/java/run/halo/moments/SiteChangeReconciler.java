@@ -0,0 +1,107 @@
+package run.halo.moments;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import run.halo.app.core.extension.Theme;
+import run.halo.app.extension.ConfigMap;
+import run.halo.app.extension.Extension;
+import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.ExtensionMatcher;
+import run.halo.app.extension.GroupVersionKind;
+import run.halo.app.extension.controller.Controller;
+import run.halo.app.extension.controller.ControllerBuilder;
+import run.halo.app.extension.controller.Reconciler;
+import run.halo.app.infra.SystemSetting;
+import run.halo.app.infra.utils.JsonUtils;
+import run.halo.moments.service.MomentVersionTracker;
+
+/**
+ * <p>Watches {@link ConfigMap} changes to expire the validators of the rendered moment pages.</p>
+ * <p>Only the config maps every page depends on are watched, that is the system config maps,
+ * which hold the site settings and the active theme, and the config map of the active theme.
+ * Config maps of plugins and inactive themes are ignored. The config map of the active theme is
+ * resolved when the controller is set up and again whenever the system config map changes. Any
+ * watched change simply expires all pages.</p>
+ *
+ * @since 1.17.0
+ */
+@Component
+@RequiredArgsConstructor
+public class SiteChangeReconciler implements Reconciler<Reconciler.Request> {
+
+    private final ExtensionClient client;
+
+    private final MomentVersionTracker versionTracker;
+
+    /**
+     * The config map name of the active theme, {@code null} if the theme has no settings.
+     */
+    private final AtomicReference<String> themeConfigMapName = new AtomicReference<>();
+
+    @Override
+    public Result reconcile(Request request) {
+        if (isSystemConfigMap(request.name())) {
+            // the active theme may have been switched
+            themeConfigMapName.set(resolveThemeConfigMapName());
+        }
+        versionTracker.onSettingsChanged();
+        return Result.doNotRetry();
+    }
+
+    @Override
+    public Controller setupWith(ControllerBuilder builder) {
+        final var configMap = new ConfigMap();
+        themeConfigMapName.set(resolveThemeConfigMapName());
+        var siteConfigMaps = new ExtensionMatcher() {
+            @Override
+            public GroupVersionKind getGvk() {
+                return configMap.groupVersionKind();
+            }
+
+            @Override
+            public boolean match(Extension extension) {
+                return isWatched(extension.getMetadata().getName());
+            }
+        };
+        return builder
+            .extension(configMap)
+            .onAddMatcher(siteConfigMaps)
+            .onUpdateMatcher(siteConfigMaps)
+            // versions start fresh on startup, there is nothing to expire
+            .syncAllOnStart(false)
+            .build();
+    }
+
+    boolean isWatched(String configMapName) {
+        return isSystemConfigMap(configMapName)
+            || Objects.equals(configMapName, themeConfigMapName.get());
+    }
+
+    static boolean isSystemConfigMap(String configMapName) {
+        return SystemSetting.SYSTEM_CONFIG.equals(configMapName)
+            || SystemSetting.SYSTEM_CONFIG_DEFAULT.equals(configMapName);
+    }
+
+    private String resolveThemeConfigMapName() {
+        return activeTheme(SystemSetting.SYSTEM_CONFIG)
+            .or(() -> activeTheme(SystemSetting.SYSTEM_CONFIG_DEFAULT))
+            .flatMap(themeName -> client.fetch(Theme.class, themeName))
+            .map(theme -> theme.getSpec().getConfigMapName())
+            .filter(StringUtils::isNotBlank)
+            .orElse(null);
+    }
+
+    private Optional<String> activeTheme(String systemConfigMapName) {
+        return client.fetch(ConfigMap.class, systemConfigMapName)
+            .map(ConfigMap::getData)
+            .map(data -> data.get(SystemSetting.Theme.GROUP))
+            .filter(StringUtils::isNotBlank)
+            .map(json -> JsonUtils.jsonToObject(json, SystemSetting.Theme.class))
+            .map(SystemSetting.Theme::getActive)
+            .filter(StringUtils::isNotBlank);
+    }
+}
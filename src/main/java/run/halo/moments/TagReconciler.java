@@ -1,14 +1,17 @@
 package run.halo.moments;
 
+import static run.halo.app.extension.index.query.QueryFactory.isNotNull;
 
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import run.halo.app.extension.DefaultExtensionMatcher;
 import run.halo.app.extension.ExtensionClient;
 import run.halo.app.extension.ExtensionUtil;
 import run.halo.app.extension.controller.Controller;
 import run.halo.app.extension.controller.ControllerBuilder;
 import run.halo.app.extension.controller.Reconciler;
+import run.halo.app.extension.router.selector.FieldSelector;
 
 /**
  * Compatible with the {@link TagReconciler#TAG_FINALIZER} added in old data to avoid the
@@ -38,8 +41,14 @@ public class TagReconciler implements Reconciler<Reconciler.Request> {
     @Override
     public Controller setupWith(ControllerBuilder builder) {
         final var moment = new Moment();
+        // only moments being deleted may still hold the finalizer
+        var deleting = DefaultExtensionMatcher.builder(client, moment.groupVersionKind())
+            .fieldSelector(FieldSelector.of(isNotNull("metadata.deletionTimestamp")))
+            .build();
         return builder
             .extension(moment)
+            .onAddMatcher(deleting)
+            .onUpdateMatcher(deleting)
             .build();
     }
 }
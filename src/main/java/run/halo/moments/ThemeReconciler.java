@@ -0,0 +1,37 @@
+package run.halo.moments;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import run.halo.app.core.extension.Theme;
+import run.halo.app.extension.controller.Controller;
+import run.halo.app.extension.controller.ControllerBuilder;
+import run.halo.app.extension.controller.Reconciler;
+import run.halo.moments.service.MomentVersionTracker;
+
+/**
+ * Watches {@link Theme} changes, e.g. upgrades, to expire the validators of the rendered moment
+ * pages.
+ *
+ * @since 1.17.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ThemeReconciler implements Reconciler<Reconciler.Request> {
+
+    private final MomentVersionTracker versionTracker;
+
+    @Override
+    public Result reconcile(Request request) {
+        versionTracker.onSettingsChanged();
+        return Result.doNotRetry();
+    }
+
+    @Override
+    public Controller setupWith(ControllerBuilder builder) {
+        return builder
+            .extension(new Theme())
+            // versions start fresh on startup, there is nothing to expire
+            .syncAllOnStart(false)
+            .build();
+    }
+}
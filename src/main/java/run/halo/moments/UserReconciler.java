@@ -0,0 +1,37 @@
+package run.halo.moments;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import run.halo.app.core.extension.User;
+import run.halo.app.extension.controller.Controller;
+import run.halo.app.extension.controller.ControllerBuilder;
+import run.halo.app.extension.controller.Reconciler;
+import run.halo.moments.service.ContributorCache;
+
+/**
+ * Watches {@link User} changes to keep the {@link ContributorCache} fresh.
+ *
+ * @since 1.17.0
+ */
+@Component
+@RequiredArgsConstructor
+public class UserReconciler implements Reconciler<Reconciler.Request> {
+
+    private final ContributorCache contributorCache;
+
+    @Override
+    public Result reconcile(Request request) {
+        // the cache is filled lazily, so evicting is enough for both updates and deletions
+        contributorCache.evict(request.name());
+        return Result.doNotRetry();
+    }
+
+    @Override
+    public Controller setupWith(ControllerBuilder builder) {
+        return builder
+            .extension(new User())
+            // the cache is empty on startup, there is nothing to evict
+            .syncAllOnStart(false)
+            .build();
+    }
+}
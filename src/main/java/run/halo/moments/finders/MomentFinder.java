@@ -3,6 +3,7 @@ package run.halo.moments.finders;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import run.halo.app.extension.ListResult;
+import run.halo.moments.CursorListResult;
 import run.halo.moments.vo.MomentTagVo;
 import run.halo.moments.vo.MomentVo;
 
@@ -31,6 +32,17 @@ public interface MomentFinder {
      */
     Mono<ListResult<MomentVo>> list(Integer page, Integer size);
 
+    /**
+     * List moments after the given cursor, newest first. Unlike {@link #list(Integer, Integer)}
+     * every page costs the same no matter how deep it is, which suits infinite scrolling.
+     *
+     * @param cursor the {@link CursorListResult#getNextCursor()} of the previous page, blank for
+     * the first page.
+     * @param size page size.
+     * @return a mono of cursor list result.
+     */
+    Mono<CursorListResult<MomentVo>> listAfter(String cursor, Integer size);
+
     /**
      * List moments by tag.
      *
@@ -3,21 +3,22 @@ package run.halo.moments.finders.impl;
 import static run.halo.app.extension.index.query.QueryFactory.all;
 import static run.halo.app.extension.index.query.QueryFactory.and;
 import static run.halo.app.extension.index.query.QueryFactory.equal;
+import static run.halo.app.extension.index.query.QueryFactory.isNotNull;
 
-import jakarta.annotation.Nonnull;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 import org.springframework.web.util.UriUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import run.halo.app.core.extension.Counter;
-import run.halo.app.core.extension.User;
 import run.halo.app.extension.ExtensionUtil;
 import run.halo.app.extension.ListOptions;
 import run.halo.app.extension.ListResult;
@@ -27,11 +28,14 @@ import run.halo.app.extension.ReactiveExtensionClient;
 import run.halo.app.extension.index.query.Query;
 import run.halo.app.extension.router.selector.FieldSelector;
 import run.halo.app.theme.finders.Finder;
+import run.halo.moments.CursorListResult;
 import run.halo.moments.Moment;
+import run.halo.moments.MomentCursor;
 import run.halo.moments.Stats;
 import run.halo.moments.finders.MomentFinder;
-import run.halo.moments.util.MeterUtils;
-import run.halo.moments.vo.ContributorVo;
+import run.halo.moments.service.ContributorCache;
+import run.halo.moments.service.MomentStatsCache;
+import run.halo.moments.service.MomentTagIndex;
 import run.halo.moments.vo.MomentTagVo;
 import run.halo.moments.vo.MomentVo;
 
@@ -45,24 +49,39 @@ import run.halo.moments.vo.MomentVo;
 @RequiredArgsConstructor
 public class MomentFinderImpl implements MomentFinder {
 
-    public static final Predicate<Moment> FIXED_PREDICATE = moment -> Objects.equals(
-        moment.getSpec().getVisible(), Moment.MomentVisible.PUBLIC)
-        && moment.getSpec().getApproved() == Boolean.TRUE;
+    /**
+     * Moments on the public timeline, the in-memory counterpart of {@link #FIXED_QUERY}.
+     */
+    public static final Predicate<Moment> FIXED_PREDICATE =
+        moment -> publicTimelineOf(moment) != null;
 
-    public static final Query FIXED_QUERY = and(
-        equal("spec.visible", Moment.MomentVisible.PUBLIC.name()),
-        equal("spec.approved", Boolean.TRUE.toString())
-    );
+    /**
+     * Moments on the public timeline, answered by the {@link Moment#PUBLIC_TIMELINE_INDEX_NAME}
+     * index alone.
+     */
+    public static final Query FIXED_QUERY = isNotNull(Moment.PUBLIC_TIMELINE_INDEX_NAME);
+
+    /**
+     * The maximum number of moments hydrated by a single owner/stats lookup when streaming.
+     */
+    private static final int HYDRATION_BATCH_SIZE = 100;
 
     private final ReactiveExtensionClient client;
 
+    private final ContributorCache contributorCache;
+
+    private final MomentTagIndex momentTagIndex;
+
+    private final MomentStatsCache momentStatsCache;
+
     @Override
     public Flux<MomentVo> listAll() {
         var listOptions = new ListOptions();
         listOptions.setFieldSelector(
             FieldSelector.of(FIXED_QUERY));
         return client.listAll(Moment.class, listOptions, defaultSort())
-            .concatMap(this::getMomentVo);
+            .buffer(HYDRATION_BATCH_SIZE)
+            .concatMap(this::hydrate);
     }
 
     @Override
@@ -71,8 +90,29 @@ public class MomentFinderImpl implements MomentFinder {
         return pageMoment(null, pageRequest);
     }
 
+    /**
+     * Gets the position of a moment on the public timeline, this is the value of the
+     * {@link Moment#PUBLIC_TIMELINE_INDEX_NAME} index, so {@link #FIXED_PREDICATE} and
+     * {@link #FIXED_QUERY} always agree.
+     *
+     * @param moment moment
+     * @return the release time, {@code null} if the moment is being deleted, not public, not
+     * approved or has no release time
+     */
+    @Nullable
+    public static Instant publicTimelineOf(Moment moment) {
+        var spec = moment.getSpec();
+        // a deleted moment stays until its finalizers are removed, but is no longer public
+        if (spec == null || ExtensionUtil.isDeleted(moment)
+            || !Objects.equals(spec.getVisible(), Moment.MomentVisible.PUBLIC)
+            || !Boolean.TRUE.equals(spec.getApproved())) {
+            return null;
+        }
+        return spec.getReleaseTime();
+    }
+
     static Sort defaultSort() {
-        return Sort.by("spec.releaseTime").descending()
+        return Sort.by(Moment.PUBLIC_TIMELINE_INDEX_NAME).descending()
             .and(ExtensionUtil.defaultSort());
     }
 
@@ -82,47 +122,29 @@ public class MomentFinderImpl implements MomentFinder {
         var query = and(FIXED_QUERY, equal("spec.tags", tag));
         listOptions.setFieldSelector(FieldSelector.of(query));
         return client.listAll(Moment.class, listOptions, defaultSort())
-            .concatMap(this::getMomentVo);
+            .buffer(HYDRATION_BATCH_SIZE)
+            .concatMap(this::hydrate);
     }
 
     @Override
     public Mono<MomentVo> get(String momentName) {
         return client.get(Moment.class, momentName)
             .filter(FIXED_PREDICATE)
-            .flatMap(this::getMomentVo);
+            .flatMap(moment -> hydrate(List.of(moment)).next());
     }
 
     @Override
     public Flux<MomentTagVo> listAllTags() {
-        var listOptions = new ListOptions();
-        var query = and(all("spec.tags"), FIXED_QUERY);
-        listOptions.setFieldSelector(FieldSelector.of(query));
-        return client.listAll(Moment.class, listOptions, defaultSort())
-            .flatMapIterable(moment -> {
-                var tags = moment.getSpec().getTags();
-                if (tags == null) {
-                    return List.of();
-                }
-                return tags.stream()
-                    .map(tag -> new MomentTagPair(tag, moment.getMetadata().getName()))
-                    .toList();
-            })
-            .groupBy(MomentTagPair::tagName)
-            .concatMap(groupedFlux -> groupedFlux.count()
-                .defaultIfEmpty(0L)
-                .map(count -> MomentTagVo.builder()
-                    .name(groupedFlux.key())
-                    .momentCount(count.intValue())
-                    .permalink("/moments?tag=" + UriUtils.encode(groupedFlux.key(),
-                        StandardCharsets.UTF_8))
-                    .build()
-                )
+        return momentTagIndex.listPublicTags()
+            .map(tagCount -> MomentTagVo.builder()
+                .name(tagCount.name())
+                .momentCount(tagCount.momentCount())
+                .permalink("/moments?tag=" + UriUtils.encode(tagCount.name(),
+                    StandardCharsets.UTF_8))
+                .build()
             );
     }
 
-    record MomentTagPair(String tagName, String momentName) {
-    }
-
     @Override
     public Mono<ListResult<MomentVo>> listByTag(int pageNum, Integer pageSize, String tagName) {
         var query = all();
@@ -134,6 +156,27 @@ public class MomentFinderImpl implements MomentFinder {
         return pageMoment(FieldSelector.of(query), pageRequest);
     }
 
+    @Override
+    public Mono<CursorListResult<MomentVo>> listAfter(String cursor, Integer size) {
+        var query = FIXED_QUERY;
+        var after = MomentCursor.decode(cursor);
+        if (after != null) {
+            query = and(query, after.seekQuery(Moment.PUBLIC_TIMELINE_INDEX_NAME));
+        }
+        var listOptions = new ListOptions();
+        listOptions.setFieldSelector(FieldSelector.of(query));
+        var pageSize = sizeNullSafe(size);
+        return client.listBy(Moment.class, listOptions,
+                PageRequestImpl.of(1, pageSize,
+                    MomentCursor.sort(Moment.PUBLIC_TIMELINE_INDEX_NAME)))
+            .map(CursorListResult::of)
+            .flatMap(page -> hydrate(page.getItems())
+                .collectList()
+                .map(page::withItems)
+            )
+            .defaultIfEmpty(CursorListResult.empty(pageSize));
+    }
+
     private Mono<ListResult<MomentVo>> pageMoment(FieldSelector fieldSelector, PageRequest page) {
         var listOptions = new ListOptions();
         var query = FIXED_QUERY;
@@ -142,8 +185,7 @@ public class MomentFinderImpl implements MomentFinder {
         }
         listOptions.setFieldSelector(FieldSelector.of(query));
         return client.listBy(Moment.class, listOptions, page)
-            .flatMap(list -> Flux.fromStream(list.get())
-                .concatMap(this::getMomentVo)
+            .flatMap(list -> hydrate(list.getItems())
                 .collectList()
                 .map(momentVos -> new ListResult<>(list.getPage(), list.getSize(),
                     list.getTotal(), momentVos)
@@ -153,32 +195,38 @@ public class MomentFinderImpl implements MomentFinder {
                 new ListResult<>(page.getPageNumber(), page.getPageSize(), 0L, List.of()));
     }
 
-    private Mono<MomentVo> getMomentVo(@Nonnull Moment moment) {
-        MomentVo momentVo = MomentVo.from(moment);
-        return Mono.just(momentVo)
-            .flatMap(mv -> populateStats(momentVo)
-                .doOnNext(mv::setStats)
-                .thenReturn(mv)
-            )
-            .flatMap(mv -> {
-                String owner = mv.getSpec().getOwner();
-                return client.fetch(User.class, owner)
-                    .map(ContributorVo::from)
-                    .doOnNext(mv::setOwner)
-                    .thenReturn(mv);
-            })
-            .defaultIfEmpty(momentVo);
-    }
-
-    private Mono<Stats> populateStats(MomentVo momentVo) {
-        String name = momentVo.getMetadata().getName();
-        return client.fetch(Counter.class, MeterUtils.nameOf(Moment.class, name))
-            .map(counter -> Stats.builder()
-                .upvote(counter.getUpvote())
-                .totalComment(counter.getTotalComment())
-                .approvedComment(counter.getApprovedComment())
-                .build())
-            .defaultIfEmpty(Stats.empty());
+    /**
+     * Converts the given moments to {@link MomentVo}s, resolving the owners and stats of all
+     * moments from the {@link ContributorCache} and the {@link MomentStatsCache}.
+     *
+     * @param moments moments to hydrate, the order is preserved
+     * @return a flux of moment vo
+     */
+    private Flux<MomentVo> hydrate(List<Moment> moments) {
+        if (moments.isEmpty()) {
+            return Flux.empty();
+        }
+        var owners = moments.stream()
+            .map(moment -> moment.getSpec().getOwner())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        var names = moments.stream()
+            .map(moment -> moment.getMetadata().getName())
+            .collect(Collectors.toSet());
+        return Mono.zip(contributorCache.getAll(owners), momentStatsCache.getAll(names))
+            .flatMapIterable(tuple -> {
+                var contributors = tuple.getT1();
+                var stats = tuple.getT2();
+                return moments.stream()
+                    .map(moment -> {
+                        var momentVo = MomentVo.from(moment);
+                        momentVo.setStats(
+                            stats.getOrDefault(moment.getMetadata().getName(), Stats.empty()));
+                        momentVo.setOwner(contributors.get(moment.getSpec().getOwner()));
+                        return momentVo;
+                    })
+                    .toList();
+            });
     }
 
     int pageNullSafe(Integer page) {
@@ -0,0 +1,46 @@
+package run.halo.moments.rss;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import run.halo.app.security.AdditionalWebFilter;
+import run.halo.moments.service.MomentVersionTracker;
+
+/**
+ * <p>Adds {@code ETag} and {@code Last-Modified} validators to the moments RSS feed and answers
+ * {@code If-None-Match} and {@code If-Modified-Since} requests with 304 before the feed is
+ * built.</p>
+ * <p>The feed route is served by the feed plugin, so this has to be a filter instead of a part
+ * of {@link MomentRssProvider}.</p>
+ */
+@RequiredArgsConstructor
+public class MomentRssConditionalRequestFilter implements AdditionalWebFilter {
+    private final ServerWebExchangeMatcher requestMatcher = ServerWebExchangeMatchers.pathMatchers(
+        HttpMethod.GET, "/feed/moments/rss.xml");
+
+    private final MomentVersionTracker versionTracker;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        return requestMatcher.matches(exchange)
+            .flatMap(matchResult -> {
+                if (!matchResult.isMatch()) {
+                    return chain.filter(exchange);
+                }
+                var version = versionTracker.collectionVersion();
+                if (exchange.checkNotModified(version.tag(), version.lastModified())) {
+                    return exchange.getResponse().setComplete();
+                }
+                var headers = exchange.getResponse().getHeaders();
+                headers.setETag('"' + version.tag() + '"');
+                headers.setLastModified(version.lastModified());
+                return chain.filter(exchange);
+            });
+    }
+}
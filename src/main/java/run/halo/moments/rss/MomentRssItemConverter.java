@@ -0,0 +1,161 @@
+package run.halo.moments.rss;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.springframework.util.CollectionUtils;
+import run.halo.app.core.attachment.ThumbnailSize;
+import run.halo.app.infra.ExternalLinkProcessor;
+import run.halo.app.infra.ExternalUrlSupplier;
+import run.halo.feed.RSS2;
+import run.halo.moments.Moment;
+import run.halo.moments.util.LruCache;
+import run.halo.moments.vo.MomentVo;
+
+/**
+ * <p>Converts a {@link MomentVo} to an {@link RSS2.Item}.</p>
+ * <p>The processed description of every moment is cached by moment name, version and external
+ * URL, so the HTML of a moment is only parsed again when it changes.</p>
+ */
+@RequiredArgsConstructor
+class MomentRssItemConverter {
+    private static final DateTimeFormatter TITLE_DATE_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    static final int DESCRIPTION_CACHE_CAPACITY = 1000;
+
+    private final ExternalLinkProcessor externalLinkProcessor;
+
+    private final ExternalUrlSupplier externalUrlSupplier;
+
+    private final LruCache<String, ProcessedDescription> descriptionCache =
+        new LruCache<>(DESCRIPTION_CACHE_CAPACITY);
+
+    RSS2.Item convert(MomentVo moment) {
+        var permalink = getMomentPermalink(moment);
+        return RSS2.Item.builder()
+            .title(buildMomentTitle(moment))
+            .link(externalLinkProcessor.processLink(permalink))
+            .pubDate(moment.getSpec().getReleaseTime())
+            .guid(permalink)
+            .description(getDescription(moment))
+            .build();
+    }
+
+    void evict(String momentName) {
+        descriptionCache.remove(momentName);
+    }
+
+    private String getDescription(MomentVo moment) {
+        var momentName = moment.getMetadata().getName();
+        var version = moment.getMetadata().getVersion();
+        var externalUrl = externalUrlSupplier.get().toString();
+        var cached = descriptionCache.get(momentName);
+        if (cached != null && Objects.equals(cached.version(), version)
+            && cached.externalUrl().equals(externalUrl)) {
+            return cached.description();
+        }
+        var medium = moment.getSpec().getContent().getMedium();
+        var mediumHtml = generateMediaHtmlList(medium);
+        var htmlContent = processHtml(moment.getSpec().getContent().getHtml());
+        var description = htmlContent + mediumHtml;
+        if (version != null) {
+            descriptionCache.put(momentName,
+                new ProcessedDescription(version, externalUrl, description));
+        }
+        return description;
+    }
+
+    private String processHtml(String html) {
+        var document = Jsoup.parse(html);
+
+        // Process all links
+        var links = document.select("a[href]");
+        for (Element link : links) {
+            var isTag = link.hasClass("tag");
+            String href = link.attr("href");
+            if (isTag && href.startsWith("?")) {
+                // 兼容旧版标签链接
+                href = "/moments" + href;
+            }
+            var absoluteUrl = externalLinkProcessor.processLink(href);
+            link.attr("href", absoluteUrl);
+        }
+        // process all images
+        var images = document.select("img[src]");
+        for (Element image : images) {
+            String src = image.attr("src");
+            var thumb = genThumbUrl(src, ThumbnailSize.M);
+            var absoluteUrl = externalLinkProcessor.processLink(thumb);
+            image.attr("src", absoluteUrl);
+        }
+        return document.body().html();
+    }
+
+    private String genThumbUrl(String url, ThumbnailSize size) {
+        return externalLinkProcessor.processLink(
+            "/apis/api.storage.halo.run/v1alpha1/thumbnails/-/via-uri?uri=" + url + "&size="
+                + size.name().toLowerCase()
+        );
+    }
+
+    private String generateMediaHtmlList(List<Moment.MomentMedia> medium) {
+        if (CollectionUtils.isEmpty(medium)) {
+            return "";
+        }
+        return medium.stream()
+            .map(this::generateSingleMediaHtml)
+            .collect(Collectors.joining());
+    }
+
+    private String generateSingleMediaHtml(Moment.MomentMedia media) {
+        var url = media.getUrl();
+        return switch (media.getType()) {
+            case PHOTO -> generatePhotoHtml(media);
+            case VIDEO ->
+                String.format("<video controls><source src=\"%s\" type=\"video/mp4\" /></video>",
+                    url);
+            case AUDIO ->
+                String.format("<audio controls><source src=\"%s\" type=\"audio/mpeg\" /></audio>",
+                    url);
+            case POST -> String.format("<a href=\"%s\">%s</a>", url, url);
+        };
+    }
+
+    private String generatePhotoHtml(Moment.MomentMedia media) {
+        // the best practice is to use the thumbnail for src
+        var mSrc = genThumbUrl(media.getUrl(), ThumbnailSize.M);
+        // If the reader does not support srcset, then only src,
+        var srcSet = """
+            %s 400w,
+            %s 800w,
+            %s 1200w,
+            """.formatted(
+            genThumbUrl(media.getUrl(), ThumbnailSize.S),
+            mSrc,
+            genThumbUrl(media.getUrl(), ThumbnailSize.L)
+        );
+        return String.format(
+            "<img src=\"%s\"%s alt=\"moment photo\" />",
+            mSrc,
+            srcSet
+        );
+    }
+
+    private static String getMomentPermalink(MomentVo moment) {
+        return "moments/" + moment.getMetadata().getName();
+    }
+
+    private static String buildMomentTitle(MomentVo momentVo) {
+        return momentVo.getOwner().getDisplayName() + " published on "
+            + TITLE_DATE_FORMATTER.format(momentVo.getSpec().getReleaseTime());
+    }
+
+    record ProcessedDescription(Long version, String externalUrl, String description) {
+    }
+}
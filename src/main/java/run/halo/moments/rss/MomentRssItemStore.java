@@ -0,0 +1,273 @@
+package run.halo.moments.rss;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import run.halo.app.plugin.PluginConfigUpdatedEvent;
+import run.halo.feed.CacheClearRule;
+import run.halo.feed.RSS2;
+import run.halo.feed.RssCacheClearRequested;
+import run.halo.moments.event.MomentDeletedEvent;
+import run.halo.moments.event.MomentUpdatedEvent;
+import run.halo.moments.finders.MomentFinder;
+import run.halo.moments.vo.MomentVo;
+
+/**
+ * <p>Keeps the newest pre-rendered {@link RSS2.Item}s of public moments.</p>
+ * <p>The store is loaded lazily with the newest {@code limit} moments. After that every item is
+ * built once when its moment changes, so a feed request only takes the retained items instead
+ * of rebuilding the whole history. The store reloads itself when it no longer holds enough
+ * items, e.g. after a retained moment was deleted.</p>
+ * <p>Moments are fetched and converted outside the lock of the store. Every change bumps an
+ * epoch, and a load that overlapped a change is served to its request but not installed, so it
+ * can not bring back deleted or outdated items.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MomentRssItemStore implements InitializingBean, DisposableBean {
+    private static final Comparator<ItemKey> NEWEST_FIRST =
+        Comparator.comparing(ItemKey::releaseTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ItemKey::momentName);
+
+    private final MomentFinder momentFinder;
+
+    private final MomentRssItemConverter itemConverter;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Retained items, guarded by {@code this}.
+     */
+    private final TreeMap<ItemKey, RSS2.Item> items = new TreeMap<>(NEWEST_FIRST);
+
+    /**
+     * Keys of the retained items by moment name, guarded by {@code this}.
+     */
+    private final Map<String, ItemKey> keys = new HashMap<>();
+
+    /**
+     * Max number of retained items, 0 if the store is not loaded. Guarded by {@code this}.
+     */
+    private int capacity;
+
+    /**
+     * Whether the store holds all public moments. Guarded by {@code this}.
+     */
+    private boolean complete;
+
+    /**
+     * Bumped on every change of a moment or of the retained items, so that a load started
+     * before a change is not installed over it. Guarded by {@code this}.
+     */
+    private long epoch;
+
+    /**
+     * Names of the changed moments, refreshed one at a time in the order of the changes.
+     */
+    private final Sinks.Many<String> refreshes = Sinks.many().unicast().onBackpressureBuffer();
+
+    private Disposable subscription;
+
+    @Override
+    public void afterPropertiesSet() {
+        subscription = refreshes.asFlux()
+            .concatMap(momentName -> refresh(momentName)
+                .doOnSuccess(unused -> requestRssCacheClear())
+                .onErrorResume(error -> {
+                    log.warn("Failed to refresh the RSS item of moment {}", momentName, error);
+                    // the item may be outdated now, reload on the next read
+                    invalidate();
+                    return Mono.empty();
+                })
+            )
+            .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Lists the newest items.
+     *
+     * @param limit max number of items
+     * @return the newest items, newest first
+     */
+    Mono<List<RSS2.Item>> listNewest(int limit) {
+        return Mono.defer(() -> {
+            long loadEpoch;
+            synchronized (this) {
+                if (capacity >= limit && (complete || items.size() >= limit)) {
+                    return Mono.just(items.values().stream().limit(limit).toList());
+                }
+                loadEpoch = epoch;
+            }
+            return load(limit, loadEpoch);
+        });
+    }
+
+    private Mono<List<RSS2.Item>> load(int limit, long loadEpoch) {
+        return momentFinder.list(1, limit)
+            .map(listResult -> {
+                var loaded = listResult.getItems().stream()
+                    .map(moment -> Map.entry(keyOf(moment), itemConverter.convert(moment)))
+                    .toList();
+                synchronized (this) {
+                    if (epoch != loadEpoch) {
+                        // a moment changed while loading, the next read loads again
+                        log.debug("Discarded {} moment RSS items loaded before a change",
+                            loaded.size());
+                        return loaded.stream().map(Map.Entry::getValue).toList();
+                    }
+                    items.clear();
+                    keys.clear();
+                    loaded.forEach(entry -> {
+                        items.put(entry.getKey(), entry.getValue());
+                        keys.put(entry.getKey().momentName(), entry.getKey());
+                    });
+                    capacity = limit;
+                    complete = listResult.getTotal() <= limit;
+                    log.debug("Loaded {} moment RSS items", loaded.size());
+                    return items.values().stream().limit(limit).toList();
+                }
+            });
+    }
+
+    /**
+     * <p>Queues the item of the given moment to be rebuilt, or removed if the moment is no
+     * longer public.</p>
+     * <p>The processed description of a changed moment is always rebuilt eagerly, and refreshes
+     * are serialized, so a slow refresh can not overwrite a newer one.</p>
+     *
+     * @param event the moment updated event
+     */
+    @EventListener(MomentUpdatedEvent.class)
+    public void onMomentUpdated(MomentUpdatedEvent event) {
+        requestRefresh(event.getMomentName());
+    }
+
+    @EventListener(MomentDeletedEvent.class)
+    public void onMomentDeleted(MomentDeletedEvent event) {
+        remove(event.getMomentName());
+        itemConverter.evict(event.getMomentName());
+        // a refresh queued before the deletion may still put the item back, so the deletion is
+        // queued behind it, the refresh treats the deleted moment as absent
+        requestRefresh(event.getMomentName());
+    }
+
+    private void requestRefresh(String momentName) {
+        synchronized (this) {
+            // a running load may have read the moment before this change
+            epoch++;
+        }
+        refreshes.emitNext(momentName,
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    @Async
+    @EventListener(PluginConfigUpdatedEvent.class)
+    public void onPluginConfigUpdated() {
+        // the item limit may have changed
+        invalidate();
+        requestRssCacheClear();
+    }
+
+    private void requestRssCacheClear() {
+        var rule = CacheClearRule.forExact("/feed/moments/rss.xml");
+        var event = RssCacheClearRequested.forRule(this, rule);
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+     * Fetches and converts the given moment without holding the lock, and then applies it.
+     */
+    Mono<Void> refresh(String momentName) {
+        return momentFinder.get(momentName)
+            // a deleted moment is still fetched until its finalizers are removed
+            .filter(moment -> moment.getMetadata().getDeletionTimestamp() == null)
+            // the processed description is rebuilt even if the store is not loaded yet
+            .map(moment -> Optional.of(Map.entry(keyOf(moment), itemConverter.convert(moment))))
+            .defaultIfEmpty(Optional.empty())
+            .doOnNext(item -> apply(momentName, item))
+            .then();
+    }
+
+    private synchronized void apply(String momentName,
+        Optional<Map.Entry<ItemKey, RSS2.Item>> item) {
+        epoch++;
+        if (capacity == 0) {
+            // not loaded yet, the moment will be picked up by the first load
+            return;
+        }
+        item.ifPresentOrElse(entry -> put(entry.getKey(), entry.getValue()),
+            () -> remove(momentName));
+    }
+
+    synchronized void remove(String momentName) {
+        epoch++;
+        var key = keys.remove(momentName);
+        if (key == null) {
+            return;
+        }
+        items.remove(key);
+        if (!complete && items.size() < capacity) {
+            // the next older moment is unknown, reload on the next read
+            invalidate();
+        }
+    }
+
+    synchronized void invalidate() {
+        epoch++;
+        items.clear();
+        keys.clear();
+        capacity = 0;
+        complete = false;
+    }
+
+    private synchronized void put(ItemKey key, RSS2.Item item) {
+        var name = key.momentName();
+        var previous = keys.remove(name);
+        if (previous != null) {
+            items.remove(previous);
+        }
+        if (!complete && (items.isEmpty() || NEWEST_FIRST.compare(key, items.lastKey()) > 0)) {
+            // older than every retained item, so it is unknown whether it is among the newest
+            if (items.size() < capacity) {
+                invalidate();
+            }
+            return;
+        }
+        items.put(key, item);
+        keys.put(name, key);
+        while (items.size() > capacity) {
+            var evicted = items.pollLastEntry();
+            keys.remove(evicted.getKey().momentName());
+            complete = false;
+        }
+    }
+
+    private static ItemKey keyOf(MomentVo moment) {
+        return new ItemKey(moment.getSpec().getReleaseTime(), moment.getMetadata().getName());
+    }
+
+    record ItemKey(Instant releaseTime, String momentName) {
+    }
+}
@@ -5,17 +5,23 @@ import static run.halo.moments.search.MomentHaloDocumentsProvider.MOMENT_DOCUMEN
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import run.halo.app.core.extension.User;
-import run.halo.app.extension.ReactiveExtensionClient;
 import run.halo.app.infra.ExternalUrlSupplier;
+import run.halo.app.plugin.ReactiveSettingFetcher;
 import run.halo.app.search.HaloDocument;
 import run.halo.moments.Moment;
+import run.halo.moments.finders.impl.MomentFinderImpl;
+import run.halo.moments.service.ContributorCache;
 
 /**
  * @author LIlGG
@@ -24,24 +30,71 @@ import run.halo.moments.Moment;
 @RequiredArgsConstructor
 public class DocumentConverter implements Converter<Moment, Mono<HaloDocument>> {
 
-    private final ReactiveExtensionClient client;
+    static final int DEFAULT_DESCRIPTION_MAX_LENGTH = 200;
+
+    static final int DEFAULT_CONTENT_MAX_LENGTH = 10000;
+
+    private final ContributorCache contributorCache;
 
     private final ExternalUrlSupplier externalUrlSupplier;
 
+    private final ReactiveSettingFetcher settingFetcher;
+
     private final DateTimeFormatter dateFormat =
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
 
     @Override
     @NonNull
     public Mono<HaloDocument> convert(Moment moment) {
+        return convertAll(List.of(moment)).single();
+    }
+
+    /**
+     * Converts a batch of moments, the owners of all moments are resolved at once.
+     *
+     * @param moments moments to convert
+     * @return a flux of documents in the order of the given moments
+     */
+    public Flux<HaloDocument> convertAll(List<Moment> moments) {
+        var owners = moments.stream()
+            .map(moment -> moment.getSpec().getOwner())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        return Mono.zip(contributorCache.getAll(owners), getTextLimits())
+            .flatMapIterable(tuple -> moments.stream()
+                .map(moment -> {
+                    var contributor = tuple.getT1().get(moment.getSpec().getOwner());
+                    return toDocument(moment,
+                        contributor == null ? null : contributor.getDisplayName(),
+                        tuple.getT2());
+                })
+                .toList());
+    }
+
+    Mono<TextLimits> getTextLimits() {
+        return settingFetcher.get("search")
+            .map(setting -> new TextLimits(
+                setting.path("descriptionMaxLength").asInt(DEFAULT_DESCRIPTION_MAX_LENGTH),
+                setting.path("contentMaxLength").asInt(DEFAULT_CONTENT_MAX_LENGTH)
+            ))
+            .defaultIfEmpty(
+                new TextLimits(DEFAULT_DESCRIPTION_MAX_LENGTH, DEFAULT_CONTENT_MAX_LENGTH));
+    }
+
+    private HaloDocument toDocument(Moment moment, @Nullable String ownerDisplayName,
+        TextLimits limits) {
         var haloDoc = new HaloDocument();
         var momentContent = moment.getSpec().getContent();
         haloDoc.setMetadataName(moment.getMetadata().getName());
         haloDoc.setType(MOMENT_DOCUMENT_TYPE);
         haloDoc.setId(haloDocId(moment));
-        haloDoc.setDescription(momentContent.getHtml());
+        // the description is the head of the content, so extract the text only once
+        var textLength = limits.contentMaxLength() > 0 && limits.descriptionMaxLength() > 0
+            ? Math.max(limits.contentMaxLength(), limits.descriptionMaxLength()) : 0;
+        var text = PlainTextExtractor.extract(momentContent.getHtml(), textLength);
+        haloDoc.setDescription(PlainTextExtractor.abbreviate(text, limits.descriptionMaxLength()));
         haloDoc.setExposed(isExposed(moment));
-        haloDoc.setContent(momentContent.getHtml());
+        haloDoc.setContent(PlainTextExtractor.abbreviate(text, limits.contentMaxLength()));
         var tags = moment.getSpec().getTags();
         Optional.ofNullable(tags).ifPresent((tag) -> haloDoc.setTags(tag.stream().toList()));
         haloDoc.setOwnerName(moment.getSpec().getOwner());
@@ -49,24 +102,39 @@ public class DocumentConverter implements Converter<Moment, Mono<HaloDocument>>
         haloDoc.setCreationTimestamp(moment.getMetadata().getCreationTimestamp());
         haloDoc.setPermalink(getPermalink(moment));
         haloDoc.setPublished(true);
+        if (ownerDisplayName != null) {
+            haloDoc.setTitle(getTitle(moment, ownerDisplayName));
+        }
+        return haloDoc;
+    }
 
-        return Mono.when(getTitle(moment).doOnNext(haloDoc::setTitle))
-            .then(Mono.fromSupplier(() -> haloDoc));
+    /**
+     * Gets the fingerprint of the searchable fields of the given moment, the document of a
+     * moment only has to be rebuilt when its fingerprint changes.
+     * <p>The spec digest kept in the status by {@link run.halo.moments.MomentReconciler}
+     * covers every searchable field, so it is read instead of digesting the content again.</p>
+     *
+     * @param moment moment
+     * @return the digest of the last reconciled spec, {@code null} if it was not reconciled yet
+     */
+    @Nullable
+    public static String fingerprint(Moment moment) {
+        var status = moment.getStatus();
+        return status == null ? null : status.getSpecDigest();
     }
 
     String haloDocId(Moment moment) {
-        return MOMENT_DOCUMENT_TYPE + '-' + moment.getMetadata().getName();
+        return haloDocId(moment.getMetadata().getName());
     }
 
-    private Mono<String> getTitle(Moment moment) {
-        return client.fetch(User.class, moment.getSpec().getOwner())
-            .map(user -> user.getSpec().getDisplayName())
-            .map(displayName -> {
-                ZonedDateTime zonedDateTime =
-                    moment.getSpec().getReleaseTime().atZone(ZoneId.systemDefault());
-                return "发表于：" + dateFormat.format(zonedDateTime)
-                    + " by " + displayName;
-            });
+    String haloDocId(String momentName) {
+        return MOMENT_DOCUMENT_TYPE + '-' + momentName;
+    }
+
+    private String getTitle(Moment moment, String ownerDisplayName) {
+        ZonedDateTime zonedDateTime =
+            moment.getSpec().getReleaseTime().atZone(ZoneId.systemDefault());
+        return "发表于：" + dateFormat.format(zonedDateTime) + " by " + ownerDisplayName;
     }
 
     private String getPermalink(Moment moment) {
@@ -74,8 +142,17 @@ public class DocumentConverter implements Converter<Moment, Mono<HaloDocument>>
         return externalUrl.resolve("moments/" + moment.getMetadata().getName()).toString();
     }
 
+    /**
+     * Max number of chars of the plain text description and content, no limit if not positive.
+     */
+    record TextLimits(int descriptionMaxLength, int contentMaxLength) {
+    }
+
+    /**
+     * Only moments on the public timeline are exposed to the site search, unapproved and
+     * private moments are indexed for the console and uc keyword queries only.
+     */
     private static boolean isExposed(Moment moment) {
-        var visible = moment.getSpec().getVisible();
-        return Moment.MomentVisible.PUBLIC.equals(visible);
+        return MomentFinderImpl.FIXED_PREDICATE.test(moment);
     }
 }
@@ -1,47 +1,85 @@
 package run.halo.moments.search;
 
+import static run.halo.app.extension.index.query.QueryFactory.and;
+import static run.halo.app.extension.index.query.QueryFactory.equal;
+import static run.halo.app.extension.index.query.QueryFactory.greaterThan;
+import static run.halo.app.extension.index.query.QueryFactory.isNull;
+import static run.halo.app.extension.index.query.QueryFactory.or;
 import static run.halo.moments.ModelConst.SEARCH_DEFAULT_PAGE_SIZE;
 
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import run.halo.app.extension.ListOptions;
 import run.halo.app.extension.ListResult;
-import run.halo.app.extension.PageRequest;
 import run.halo.app.extension.PageRequestImpl;
 import run.halo.app.extension.ReactiveExtensionClient;
-import run.halo.app.extension.index.query.QueryFactory;
+import run.halo.app.extension.index.query.Query;
 import run.halo.app.extension.router.selector.FieldSelector;
 import run.halo.app.search.HaloDocument;
 import run.halo.app.search.HaloDocumentsProvider;
 import run.halo.moments.Moment;
 
 /**
+ * <p>Provides the documents of all moments that are not being deleted for a full search
+ * rebuild, the same moments as the incremental updates of {@link MomentSearchIndexer}.</p>
+ * <p>Moments are read page by page with keyset pagination on
+ * {@code (metadata.creationTimestamp, metadata.name)}, so every page costs the same no matter
+ * how deep the rebuild is. Each page is converted as a batch with the owners resolved at once,
+ * and at most {@link #CONVERT_CONCURRENCY} pages are converted at a time. The progress is
+ * logged and recorded in the {@code moments.search.reindex.documents} meter.</p>
+ *
  * @author LIlGG
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class MomentHaloDocumentsProvider implements HaloDocumentsProvider {
 
     public static final String MOMENT_DOCUMENT_TYPE = "moment.moment.halo.run";
 
+    static final int CONVERT_CONCURRENCY = 2;
+
+    private static final Sort KEYSET_SORT =
+        Sort.by("metadata.creationTimestamp", "metadata.name");
+
     private final ReactiveExtensionClient client;
 
     private final DocumentConverter converter;
 
     @Override
     public Flux<HaloDocument> fetchAll() {
-        var options = new ListOptions();
-        var notDeleted = QueryFactory.isNull("metadata.deletionTimestamp");
-        var approved = QueryFactory.equal("spec.approved", "true");
-        options.setFieldSelector(FieldSelector.of(notDeleted).andQuery(approved));
-        var pageRequest = createPageRequest();
-        // make sure the moments are approved and not deleted.
-        return client.listBy(Moment.class, options, pageRequest)
-            .map(ListResult::getItems)
-            .flatMapMany(Flux::fromIterable)
-            .flatMap(converter::convert);
+        return Flux.defer(() -> {
+            var startTime = System.nanoTime();
+            var fetched = new AtomicLong();
+            var documents = Metrics.counter("moments.search.reindex.documents");
+            return listPage(null)
+                .expand(page -> page.size() < SEARCH_DEFAULT_PAGE_SIZE ? Mono.empty()
+                    : listPage(page.get(page.size() - 1)))
+                .filter(page -> !page.isEmpty())
+                .flatMapSequential(converter::convertAll, CONVERT_CONCURRENCY)
+                .doOnNext(document -> {
+                    documents.increment();
+                    var count = fetched.incrementAndGet();
+                    if (count % (SEARCH_DEFAULT_PAGE_SIZE * 10) == 0) {
+                        log.debug("Fetched {} moment documents for reindexing", count);
+                    }
+                })
+                .doOnComplete(() -> {
+                    var elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+                    var millis = Math.max(elapsed.toMillis(), 1);
+                    log.info("Fetched {} moment documents for reindexing in {} ms ({} docs/s)",
+                        fetched.get(), millis, fetched.get() * 1000 / millis);
+                });
+        });
     }
 
     @Override
@@ -49,8 +87,26 @@ public class MomentHaloDocumentsProvider implements HaloDocumentsProvider {
         return MOMENT_DOCUMENT_TYPE;
     }
 
-    private PageRequest createPageRequest() {
-        return PageRequestImpl.of(1, SEARCH_DEFAULT_PAGE_SIZE,
-            Sort.by("metadata.creationTimestamp", "metadata.name"));
+    /**
+     * Lists the page of moments right after the given moment in the keyset order.
+     *
+     * @param last the last moment of the previous page, {@code null} for the first page
+     */
+    private Mono<List<Moment>> listPage(@Nullable Moment last) {
+        var options = new ListOptions();
+        // the same moments as the incremental updates of MomentSearchIndexer, i.e. not deleted
+        Query query = isNull("metadata.deletionTimestamp");
+        if (last != null) {
+            var creationTimestamp = last.getMetadata().getCreationTimestamp().toString();
+            query = and(query, or(
+                greaterThan("metadata.creationTimestamp", creationTimestamp),
+                and(equal("metadata.creationTimestamp", creationTimestamp),
+                    greaterThan("metadata.name", last.getMetadata().getName()))
+            ));
+        }
+        options.setFieldSelector(FieldSelector.of(query));
+        return client.listBy(Moment.class, options,
+                PageRequestImpl.of(1, SEARCH_DEFAULT_PAGE_SIZE, KEYSET_SORT))
+            .map(ListResult::getItems);
     }
 }
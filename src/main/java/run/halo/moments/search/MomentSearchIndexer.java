@@ -0,0 +1,235 @@
+package run.halo.moments.search;
+
+import static run.halo.app.extension.index.query.QueryFactory.in;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+import run.halo.app.extension.ExtensionUtil;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.MetadataUtil;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.extension.router.selector.FieldSelector;
+import run.halo.app.search.event.HaloDocumentAddRequestEvent;
+import run.halo.app.search.event.HaloDocumentDeleteRequestEvent;
+import run.halo.moments.Moment;
+import run.halo.moments.MomentReconciler;
+
+/**
+ * <p>Coalesces search index updates of moments.</p>
+ * <p>Requests are queued and collected for a short window, requests for the same moment within
+ * a window are merged and the last one wins. Every window is converted as a batch and published
+ * as at most one {@link HaloDocumentAddRequestEvent} and one
+ * {@link HaloDocumentDeleteRequestEvent}, so bulk imports and approvals no longer flood the
+ * search engine with single document commits.</p>
+ * <p>Every update is acknowledged on the moment only after its batch was published: the search
+ * fingerprint and index generation of an indexed moment are written, the search finalizer of a
+ * deleted moment is removed. A failed batch is retried with backoff, and if it still fails,
+ * nothing is acknowledged, so {@link MomentSearchReconciler} requests the moments again.</p>
+ *
+ * @since 1.17.0
+ */
+@Slf4j
+@Component
+public class MomentSearchIndexer implements InitializingBean, DisposableBean {
+
+    static final int MAX_BATCH_SIZE = 100;
+
+    static final Duration BATCH_WINDOW = Duration.ofMillis(500);
+
+    static final int MAX_BATCH_RETRIES = 3;
+
+    private final ReactiveExtensionClient client;
+
+    private final DocumentConverter converter;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Sinks.Many<IndexRequest> requests =
+        Sinks.many().unicast().onBackpressureBuffer();
+
+    private Disposable subscription;
+
+    public MomentSearchIndexer(ReactiveExtensionClient client, DocumentConverter converter,
+        ApplicationEventPublisher eventPublisher) {
+        this.client = client;
+        this.converter = converter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Requests the document of the given moment to be rebuilt, the document is deleted instead
+     * if the moment no longer exists or is being deleted. The search fingerprint of the moment
+     * is written once the document was published.
+     *
+     * @param momentName moment name
+     */
+    public void requestIndex(String momentName) {
+        emit(new IndexRequest(momentName, false));
+    }
+
+    /**
+     * Requests the document of the given moment to be deleted. The search finalizer of the
+     * moment is removed once the deletion was published.
+     *
+     * @param momentName moment name
+     */
+    public void requestDelete(String momentName) {
+        emit(new IndexRequest(momentName, true));
+    }
+
+    private void emit(IndexRequest request) {
+        requests.emitNext(request, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        subscription = requests.asFlux()
+            .bufferTimeout(MAX_BATCH_SIZE, BATCH_WINDOW, true)
+            .concatMap(batch -> process(batch)
+                .retryWhen(Retry.backoff(MAX_BATCH_RETRIES, Duration.ofSeconds(1)))
+                .onErrorResume(error -> {
+                    // nothing is acknowledged, the reconciler requests the moments again
+                    log.warn("Failed to update the search index of {} moments, they will be "
+                        + "retried by the reconciler", batch.size(), error);
+                    return Mono.empty();
+                })
+            )
+            .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<Void> process(List<IndexRequest> batch) {
+        // the last request of a moment wins
+        var latest = new LinkedHashMap<String, Boolean>();
+        batch.forEach(request -> {
+            latest.remove(request.momentName());
+            latest.put(request.momentName(), request.delete());
+        });
+        var toIndex = new ArrayList<String>();
+        var toDelete = new ArrayList<String>();
+        latest.forEach((name, delete) -> (delete ? toDelete : toIndex).add(name));
+        // fingerprints of the indexed moments as they were converted
+        var fingerprints = new HashMap<String, String>();
+        return fetchIndexable(toIndex)
+            .flatMap(moments -> {
+                var missing = new HashSet<>(toIndex);
+                missing.removeAll(moments.keySet());
+                toDelete.addAll(missing);
+                moments.forEach((name, moment) -> {
+                    var fingerprint = DocumentConverter.fingerprint(moment);
+                    if (fingerprint != null) {
+                        fingerprints.put(name, fingerprint);
+                    }
+                });
+                return converter.convertAll(List.copyOf(moments.values())).collectList();
+            })
+            .doOnNext(documents -> {
+                if (!documents.isEmpty()) {
+                    eventPublisher.publishEvent(
+                        new HaloDocumentAddRequestEvent(this, documents));
+                }
+                if (!toDelete.isEmpty()) {
+                    var ids = toDelete.stream()
+                        .map(name -> converter.haloDocId(name))
+                        .toList();
+                    eventPublisher.publishEvent(new HaloDocumentDeleteRequestEvent(this, ids));
+                }
+                log.debug("Updated the search index, {} moments indexed, {} deleted",
+                    documents.size(), toDelete.size());
+            })
+            .then(Mono.defer(() -> Flux.fromIterable(fingerprints.entrySet())
+                .flatMap(entry -> markIndexed(entry.getKey(), entry.getValue()))
+                .then()))
+            .then(Mono.defer(() -> Flux.fromIterable(toDelete)
+                .flatMap(this::releaseDeleted)
+                .then()));
+    }
+
+    /**
+     * Writes the fingerprint of an indexed moment, unless the moment changed after it was
+     * fetched, in which case its document is still outdated and it is indexed again.
+     */
+    private Mono<Void> markIndexed(String momentName, String fingerprint) {
+        return Mono.defer(() -> client.fetch(Moment.class, momentName)
+                .filter(moment -> !ExtensionUtil.isDeleted(moment))
+                .filter(moment -> fingerprint.equals(DocumentConverter.fingerprint(moment)))
+                .flatMap(moment -> {
+                    var annotations = MetadataUtil.nullSafeAnnotations(moment);
+                    var previousFingerprint =
+                        annotations.put(MomentSearchReconciler.SEARCH_FINGERPRINT_ANNO,
+                            fingerprint);
+                    var previousGeneration =
+                        annotations.put(MomentSearchReconciler.SEARCH_INDEX_GENERATION_ANNO,
+                            MomentSearchReconciler.SEARCH_INDEX_GENERATION);
+                    if (fingerprint.equals(previousFingerprint)
+                        && MomentSearchReconciler.SEARCH_INDEX_GENERATION.equals(
+                        previousGeneration)) {
+                        return Mono.empty();
+                    }
+                    MomentReconciler.keepObserved(moment);
+                    return client.update(moment);
+                })
+            )
+            .retryWhen(Retry.backoff(8, Duration.ofMillis(100))
+                .filter(OptimisticLockingFailureException.class::isInstance))
+            .then();
+    }
+
+    /**
+     * Removes the search finalizer of a deleted moment after its document was deleted.
+     */
+    private Mono<Void> releaseDeleted(String momentName) {
+        return Mono.defer(() -> client.fetch(Moment.class, momentName)
+                .filter(ExtensionUtil::isDeleted)
+                .flatMap(moment -> {
+                    var finalizers = Set.of(MomentSearchReconciler.FINALIZER);
+                    if (!ExtensionUtil.removeFinalizers(moment.getMetadata(), finalizers)) {
+                        return Mono.empty();
+                    }
+                    return client.update(moment);
+                })
+            )
+            .retryWhen(Retry.backoff(8, Duration.ofMillis(100))
+                .filter(OptimisticLockingFailureException.class::isInstance))
+            .then();
+    }
+
+    private Mono<Map<String, Moment>> fetchIndexable(List<String> names) {
+        if (names.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        var options = new ListOptions();
+        options.setFieldSelector(FieldSelector.of(in("metadata.name", names)));
+        return client.listAll(Moment.class, options, Sort.unsorted())
+            .filter(moment -> !ExtensionUtil.isDeleted(moment))
+            .collectMap(moment -> moment.getMetadata().getName(), moment -> moment,
+                HashMap::new);
+    }
+
+    record IndexRequest(String momentName, boolean delete) {
+    }
+}
@@ -1,64 +1,133 @@
 package run.halo.moments.search;
 
-import java.util.List;
+import static run.halo.app.extension.index.query.QueryFactory.equal;
+
+import java.time.Duration;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import run.halo.app.extension.DefaultExtensionMatcher;
 import run.halo.app.extension.ExtensionClient;
 import run.halo.app.extension.ExtensionUtil;
 import run.halo.app.extension.controller.Controller;
 import run.halo.app.extension.controller.ControllerBuilder;
 import run.halo.app.extension.controller.Reconciler;
-import run.halo.app.search.event.HaloDocumentAddRequestEvent;
-import run.halo.app.search.event.HaloDocumentDeleteRequestEvent;
+import run.halo.app.extension.router.selector.FieldSelector;
 import run.halo.moments.Moment;
+import run.halo.moments.MomentReconciler;
+import run.halo.moments.ReconcilerTuning;
 
 /**
+ * <p>Keeps the search index of moments up to date.</p>
+ * <p>The documents are updated by {@link MomentSearchIndexer} in batches. The fingerprint of the
+ * searchable fields, see {@link DocumentConverter#fingerprint(Moment)}, is kept in the
+ * {@link #SEARCH_FINGERPRINT_ANNO} annotation, so changes that do not affect the document, e.g.
+ * status updates, do not rebuild it. Along with it the
+ * {@link #SEARCH_INDEX_GENERATION} the document was built with is persisted, so that only
+ * moments whose document is outdated or that are being deleted are reconciled on startup.</p>
+ * <p>Both annotations are written by the indexer only after the document was published. Until
+ * then the moment is rechecked, so a lost or failed batch is requested again instead of
+ * leaving a stale document behind.</p>
+ *
  * @author LIlGG
  */
 @Component
 @RequiredArgsConstructor
 public class MomentSearchReconciler implements Reconciler<Reconciler.Request> {
 
-    private static final String FINALIZER = "moment-search-protection";
+    public static final String SEARCH_FINGERPRINT_ANNO = "moment.halo.run/search-fingerprint";
+
+    public static final String SEARCH_INDEX_GENERATION_ANNO =
+        "moment.halo.run/search-index-generation";
+
+    /**
+     * Generation of the document format, bump it whenever {@link DocumentConverter} builds
+     * documents differently to rebuild all documents on the next start.
+     */
+    static final String SEARCH_INDEX_GENERATION = "4";
 
-    private final ApplicationEventPublisher eventPublisher;
+    static final String FINALIZER = "moment-search-protection";
+
+    /**
+     * Delay of rechecking a moment whose document update was requested but not acknowledged by
+     * the indexer yet.
+     */
+    static final Duration RECHECK_DELAY = Duration.ofSeconds(10);
 
     private final ExtensionClient client;
 
-    private final DocumentConverter converter;
+    private final MomentSearchIndexer indexer;
+
+    private final ReconcilerTuning reconcilerTuning;
 
     @Override
     public Result reconcile(Request request) {
-        client.fetch(Moment.class, request.name()).ifPresent(moment -> {
-            if (ExtensionUtil.isDeleted(moment)) {
-                if (ExtensionUtil.removeFinalizers(moment.getMetadata(), Set.of(FINALIZER))) {
-                    eventPublisher.publishEvent(
-                        new HaloDocumentDeleteRequestEvent(this,
-                            List.of(converter.haloDocId(moment)))
-                    );
-                    client.update(moment);
-                }
-                return;
+        return reconcilerTuning.record("search", () -> doReconcile(request));
+    }
+
+    private Result doReconcile(Request request) {
+        var moment = client.fetch(Moment.class, request.name()).orElse(null);
+        if (moment == null) {
+            return Result.doNotRetry();
+        }
+        if (ExtensionUtil.isDeleted(moment)) {
+            var finalizers = moment.getMetadata().getFinalizers();
+            if (finalizers == null || !finalizers.contains(FINALIZER)) {
+                return Result.doNotRetry();
             }
-            ExtensionUtil.addFinalizers(moment.getMetadata(), Set.of(FINALIZER));
+            // the indexer removes the finalizer once the document is deleted, recheck until then
+            indexer.requestDelete(request.name());
+            return new Result(true, RECHECK_DELAY);
+        }
+        if (ExtensionUtil.addFinalizers(moment.getMetadata(), Set.of(FINALIZER))) {
+            MomentReconciler.keepObserved(moment);
+            client.update(moment);
+        }
+        if (!isDocumentOutdated(moment)) {
+            return Result.doNotRetry();
+        }
+        if (DocumentConverter.fingerprint(moment) == null) {
+            // the fingerprint is written by the moment reconciler, recheck until then
+            return new Result(true, RECHECK_DELAY);
+        }
+        // the indexer writes the fingerprint once the document is published, recheck until then
+        indexer.requestIndex(request.name());
+        return new Result(true, RECHECK_DELAY);
+    }
 
-            var haloDoc = converter.convert(moment)
-                .blockOptional().orElseThrow();
-            eventPublisher.publishEvent(
-                new HaloDocumentAddRequestEvent(this, List.of(haloDoc)));
+    /**
+     * Whether the search document of the given moment has to be rebuilt or deleted.
+     *
+     * @param moment moment
+     * @return true if the moment is being deleted or its document is outdated
+     */
+    public static boolean isSearchIndexPending(Moment moment) {
+        return ExtensionUtil.isDeleted(moment) || isDocumentOutdated(moment);
+    }
 
-            client.update(moment);
-        });
-        return Result.doNotRetry();
+    private static boolean isDocumentOutdated(Moment moment) {
+        var annotations = moment.getMetadata().getAnnotations();
+        if (annotations == null
+            || !SEARCH_INDEX_GENERATION.equals(annotations.get(SEARCH_INDEX_GENERATION_ANNO))) {
+            return true;
+        }
+        var fingerprint = DocumentConverter.fingerprint(moment);
+        return fingerprint == null
+            || !fingerprint.equals(annotations.get(SEARCH_FINGERPRINT_ANNO));
     }
 
     @Override
     public Controller setupWith(ControllerBuilder builder) {
+        final var moment = new Moment();
         return builder
-            .extension(new Moment())
-            .workerCount(1)
+            .extension(moment)
+            .workerCount(reconcilerTuning.workerCount("search", 1, 1))
+            .onAddMatcher(DefaultExtensionMatcher.builder(client, moment.groupVersionKind())
+                .fieldSelector(
+                    FieldSelector.of(equal(Moment.SEARCH_INDEX_PENDING_INDEX_NAME, "true"))
+                )
+                .build()
+            )
             .build();
     }
 }
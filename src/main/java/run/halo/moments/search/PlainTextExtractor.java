@@ -0,0 +1,109 @@
+package run.halo.moments.search;
+
+import java.util.Set;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>Extracts the plain text of moment HTML for the search index.</p>
+ * <p>Text nodes are collected with a single traversal, whitespace is collapsed and block
+ * elements are separated by a space. The traversal stops as soon as the cap is reached, so long
+ * moments are never fully copied.</p>
+ */
+final class PlainTextExtractor {
+    private static final Set<String> SKIPPED_TAGS = Set.of("script", "style", "template");
+
+    private PlainTextExtractor() {
+    }
+
+    /**
+     * Extracts the plain text of the given HTML.
+     *
+     * @param html HTML fragment
+     * @param maxLength max number of chars of the text, no limit if not positive
+     * @return the plain text, empty if the HTML is blank
+     */
+    static String extract(@Nullable String html, int maxLength) {
+        if (html == null || html.isBlank()) {
+            return "";
+        }
+        var collector = new TextCollector(maxLength > 0 ? maxLength : Integer.MAX_VALUE);
+        NodeTraversor.filter(collector, Jsoup.parseBodyFragment(html).body());
+        return collector.text.toString().strip();
+    }
+
+    /**
+     * Shortens the given text to the max length, without splitting a surrogate pair.
+     */
+    static String abbreviate(String text, int maxLength) {
+        if (maxLength <= 0 || text.length() <= maxLength) {
+            return text;
+        }
+        var end = maxLength;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+
+    private static class TextCollector implements NodeFilter {
+        private final StringBuilder text = new StringBuilder();
+
+        private final int maxLength;
+
+        private boolean full;
+
+        TextCollector(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public FilterResult head(Node node, int depth) {
+            if (node instanceof TextNode textNode) {
+                append(textNode.getWholeText());
+            } else if (node instanceof Element element) {
+                if (SKIPPED_TAGS.contains(element.normalName())) {
+                    return FilterResult.SKIP_ENTIRELY;
+                }
+                if (element.isBlock() || "br".equals(element.normalName())) {
+                    append(" ");
+                }
+            }
+            return full ? FilterResult.STOP : FilterResult.CONTINUE;
+        }
+
+        @Override
+        public FilterResult tail(Node node, int depth) {
+            if (node instanceof Element element && element.isBlock()) {
+                append(" ");
+            }
+            return full ? FilterResult.STOP : FilterResult.CONTINUE;
+        }
+
+        private void append(String value) {
+            for (var i = 0; i < value.length() && !full; i++) {
+                var c = value.charAt(i);
+                if (text.length() >= maxLength) {
+                    if (Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+                        // do not split a surrogate pair
+                        text.setLength(text.length() - 1);
+                    }
+                    full = true;
+                    return;
+                }
+                if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                    if (!text.isEmpty() && text.charAt(text.length() - 1) != ' ') {
+                        text.append(' ');
+                    }
+                } else {
+                    text.append(c);
+                }
+            }
+        }
+    }
+}
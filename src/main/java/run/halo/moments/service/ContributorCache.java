@@ -0,0 +1,102 @@
+package run.halo.moments.service;
+
+import static run.halo.app.extension.index.query.QueryFactory.in;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import run.halo.app.core.extension.User;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.extension.router.selector.FieldSelector;
+import run.halo.moments.util.LruCache;
+import run.halo.moments.vo.ContributorVo;
+
+/**
+ * <p>A bounded in-process cache of {@link ContributorVo} keyed by username.</p>
+ * <p>Entries are evicted by {@link run.halo.moments.UserReconciler} whenever the user is
+ * changed or deleted. Hits and misses are recorded in the {@code moments.contributor.cache}
+ * meter.</p>
+ *
+ * @since 1.17.0
+ */
+@Component
+public class ContributorCache {
+
+    static final int CAPACITY = 1024;
+
+    private final ReactiveExtensionClient client;
+
+    private final LruCache<String, ContributorVo> cache = new LruCache<>(CAPACITY);
+
+    /**
+     * Bumped on every eviction, so that a load started before an eviction will not put a
+     * stale contributor back into the cache. It is checked atomically with the put, and bumped
+     * before the entry is removed, so an eviction either rejects the put or removes its
+     * entry.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public ContributorCache(ReactiveExtensionClient client) {
+        this.client = client;
+        this.hits = Metrics.counter("moments.contributor.cache", "result", "hit");
+        this.misses = Metrics.counter("moments.contributor.cache", "result", "miss");
+    }
+
+    public Mono<ContributorVo> get(String username) {
+        if (username == null) {
+            return Mono.empty();
+        }
+        return getAll(List.of(username))
+            .mapNotNull(contributors -> contributors.get(username));
+    }
+
+    /**
+     * Gets the contributors of the given usernames, the missing ones are resolved by a single
+     * query. Usernames of users that do not exist are absent in the result.
+     *
+     * @param usernames usernames
+     * @return a map of username to contributor
+     */
+    public Mono<Map<String, ContributorVo>> getAll(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        var contributors = new HashMap<>(cache.getAll(usernames));
+        var missing = new LinkedHashSet<>(usernames);
+        missing.removeAll(contributors.keySet());
+        hits.increment(contributors.size());
+        if (missing.isEmpty()) {
+            return Mono.just(contributors);
+        }
+        misses.increment(missing.size());
+        var epoch = evictions.get();
+        var listOptions = new ListOptions();
+        listOptions.setFieldSelector(FieldSelector.of(in("metadata.name", missing)));
+        return client.listAll(User.class, listOptions, Sort.unsorted())
+            .map(ContributorVo::from)
+            .doOnNext(contributor -> {
+                cache.putIf(contributor.getName(), contributor,
+                    () -> evictions.get() == epoch);
+                contributors.put(contributor.getName(), contributor);
+            })
+            .then(Mono.fromSupplier(() -> contributors));
+    }
+
+    public void evict(String username) {
+        evictions.incrementAndGet();
+        cache.remove(username);
+    }
+}
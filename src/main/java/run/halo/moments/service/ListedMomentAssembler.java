@@ -0,0 +1,134 @@
+package run.halo.moments.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.ListResult;
+import run.halo.moments.Contributor;
+import run.halo.moments.ListedMoment;
+import run.halo.moments.Moment;
+import run.halo.moments.Stats;
+
+/**
+ * Assembles {@link ListedMoment}s for the console and uc APIs.
+ * <p>The stats and contributors of a whole page are resolved concurrently from the
+ * {@link MomentStatsCache} and the {@link ContributorCache}, so assembling a page does not
+ * query any counter. Contributors missing in the cache are still queried, so they are resolved
+ * in batches of {@link #DEFAULT_BATCH_SIZE} usernames and at most {@code concurrency} batch
+ * queries are in flight at the same time.</p>
+ *
+ * @since 1.17.0
+ */
+@Component
+public class ListedMomentAssembler {
+
+    static final int DEFAULT_CONCURRENCY = 4;
+
+    static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final ContributorCache contributorCache;
+
+    private final MomentStatsCache momentStatsCache;
+
+    private final int concurrency;
+
+    private final int batchSize;
+
+    @Autowired
+    public ListedMomentAssembler(ContributorCache contributorCache,
+        MomentStatsCache momentStatsCache) {
+        this(contributorCache, momentStatsCache, DEFAULT_CONCURRENCY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates an assembler with a custom enrichment bound.
+     *
+     * @param contributorCache contributor cache
+     * @param momentStatsCache moment stats cache
+     * @param concurrency max number of concurrent contributor batch lookups
+     * @param batchSize max number of usernames resolved by a single lookup
+     */
+    public ListedMomentAssembler(ContributorCache contributorCache,
+        MomentStatsCache momentStatsCache, int concurrency, int batchSize) {
+        Assert.isTrue(concurrency > 0, "The concurrency must be greater than 0.");
+        Assert.isTrue(batchSize > 0, "The batch size must be greater than 0.");
+        this.contributorCache = contributorCache;
+        this.momentStatsCache = momentStatsCache;
+        this.concurrency = concurrency;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Assembles a page of moments, the page information is kept as is.
+     *
+     * @param listResult a page of moments
+     * @return a page of listed moments
+     */
+    public Mono<ListResult<ListedMoment>> assemble(ListResult<Moment> listResult) {
+        return assembleAll(listResult.getItems())
+            .map(items -> new ListResult<>(listResult.getPage(), listResult.getSize(),
+                listResult.getTotal(), items)
+            );
+    }
+
+    public Mono<ListedMoment> assemble(Moment moment) {
+        Assert.notNull(moment, "The moment must not be null.");
+        return assembleAll(List.of(moment))
+            .map(items -> items.get(0));
+    }
+
+    /**
+     * Assembles the given moments, the order is preserved.
+     *
+     * @param moments moments to assemble
+     * @return listed moments
+     */
+    public Mono<List<ListedMoment>> assembleAll(List<Moment> moments) {
+        if (moments.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        var owners = moments.stream()
+            .map(moment -> moment.getSpec().getOwner())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        var names = moments.stream()
+            .map(moment -> moment.getMetadata().getName())
+            .collect(Collectors.toSet());
+        return Mono.zip(listContributors(owners), momentStatsCache.getAll(names))
+            .map(tuple -> {
+                var contributors = tuple.getT1();
+                var stats = tuple.getT2();
+                return moments.stream()
+                    .map(moment -> ListedMoment.builder()
+                        .moment(moment)
+                        .owner(contributors.get(moment.getSpec().getOwner()))
+                        .stats(stats.getOrDefault(moment.getMetadata().getName(), Stats.empty()))
+                        .build()
+                    )
+                    .toList();
+            });
+    }
+
+    private Mono<Map<String, Contributor>> listContributors(Set<String> usernames) {
+        return Flux.fromIterable(usernames)
+            .buffer(batchSize)
+            .flatMap(contributorCache::getAll, concurrency)
+            .<Map<String, Contributor>>collect(HashMap::new, (result, contributors) ->
+                contributors.forEach((username, contributorVo) -> {
+                    var contributor = new Contributor();
+                    contributor.setName(contributorVo.getName());
+                    contributor.setDisplayName(contributorVo.getDisplayName());
+                    contributor.setAvatar(contributorVo.getAvatar());
+                    result.put(username, contributor);
+                })
+            );
+    }
+}
@@ -3,6 +3,7 @@ package run.halo.moments.service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import run.halo.app.extension.ListResult;
+import run.halo.moments.CursorListResult;
 import run.halo.moments.ListedMoment;
 import run.halo.moments.Moment;
 import run.halo.moments.MomentQuery;
@@ -16,9 +17,25 @@ import run.halo.moments.MomentQuery;
 public interface MomentService {
     Mono<ListResult<ListedMoment>> listMoment(MomentQuery query);
 
+    /**
+     * Lists moments after the cursor of the query, newest first.
+     *
+     * @param query moment query, its page and sort are ignored
+     * @return a mono of cursor list result
+     */
+    Mono<CursorListResult<ListedMoment>> listMomentAfter(MomentQuery query);
+
     Mono<Moment> create(Moment moment);
 
-    Flux<String> listAllTags(MomentQuery query);
+    /**
+     * Lists the tags used by the moments of the given owner for autocompletion.
+     *
+     * @param owner owner name
+     * @param keyword keyword to match, all tags are listed if blank
+     * @param limit max number of tags, no limit if not positive
+     * @return a flux of tag names ranked by relevance and usage frequency
+     */
+    Flux<String> listTags(String owner, String keyword, int limit);
 
     Mono<ListedMoment> findMomentByName(String name);
 
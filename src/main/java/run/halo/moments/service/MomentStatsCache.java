@@ -0,0 +1,191 @@
+package run.halo.moments.service;
+
+import static run.halo.app.extension.index.query.QueryFactory.startsWith;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import run.halo.app.core.extension.Counter;
+import run.halo.app.extension.ExtensionUtil;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.extension.router.selector.FieldSelector;
+import run.halo.moments.Moment;
+import run.halo.moments.Stats;
+import run.halo.moments.util.MeterUtils;
+
+/**
+ * <p>An in-memory table of the {@link Stats} of every moment.</p>
+ * <p>The upvote, total comment and approved comment counts of a moment are packed into a single
+ * {@code long}. The table is loaded lazily on first read by listing all moment counters once,
+ * after that it is kept fresh by {@link run.halo.moments.MomentCounterReconciler}, so stats of
+ * any page of moments are read from memory.</p>
+ *
+ * @since 1.17.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MomentStatsCache {
+
+    /**
+     * Prefix of the names of moment counters, see {@link MeterUtils#nameOf(Class, String)}.
+     */
+    public static final String COUNTER_NAME_PREFIX = MeterUtils.nameOf(Moment.class, "");
+
+    static final int COUNT_BITS = 21;
+
+    static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final ReactiveExtensionClient client;
+
+    /**
+     * Packed stats by moment name, guarded by {@code this}.
+     */
+    private final Map<String, Long> stats = new HashMap<>();
+
+    /**
+     * Names of moments whose counter changed while loading, so that the load does not
+     * overwrite them with older values. Guarded by {@code this}, {@code null} when not loading.
+     */
+    private Set<String> changedWhileLoading;
+
+    private final Mono<Void> initializer = Mono.defer(this::load)
+        .cache(unused -> Duration.ofMillis(Long.MAX_VALUE),
+            error -> Duration.ZERO,
+            () -> Duration.ofMillis(Long.MAX_VALUE));
+
+    /**
+     * Gets the stats of the given moments.
+     *
+     * @param momentNames moment names
+     * @return stats by moment name, moments without a counter have empty stats
+     */
+    public Mono<Map<String, Stats>> getAll(Collection<String> momentNames) {
+        return initializer.then(Mono.fromSupplier(() -> {
+            var result = new HashMap<String, Stats>(momentNames.size());
+            synchronized (this) {
+                momentNames.forEach(name -> {
+                    var packed = stats.get(name);
+                    result.put(name, packed == null ? Stats.empty() : unpack(packed));
+                });
+            }
+            return result;
+        }));
+    }
+
+    /**
+     * Updates the stats of a moment from its counter.
+     *
+     * @param counter the counter of a moment
+     * @return whether the stats changed, counters also hold fields that are not part of the
+     * stats, e.g. visits
+     */
+    public synchronized boolean put(Counter counter) {
+        var momentName = momentNameOf(counter.getMetadata().getName());
+        if (momentName == null) {
+            return false;
+        }
+        var packed = pack(counter);
+        var previous = stats.put(momentName, packed);
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(momentName);
+        }
+        return previous == null || previous != packed;
+    }
+
+    /**
+     * Removes the stats of a moment when its counter is deleted.
+     *
+     * @param counterName counter name
+     */
+    public synchronized void remove(String counterName) {
+        var momentName = momentNameOf(counterName);
+        if (momentName == null) {
+            return;
+        }
+        stats.remove(momentName);
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(momentName);
+        }
+    }
+
+    private Mono<Void> load() {
+        synchronized (this) {
+            changedWhileLoading = new HashSet<>();
+        }
+        var listOptions = new ListOptions();
+        listOptions.setFieldSelector(
+            FieldSelector.of(startsWith("metadata.name", COUNTER_NAME_PREFIX)));
+        return client.listAll(Counter.class, listOptions, Sort.unsorted())
+            .filter(counter -> !ExtensionUtil.isDeleted(counter))
+            .doOnNext(this::putIfUnchanged)
+            .count()
+            .doOnNext(count -> log.debug("Loaded stats of {} moments", count))
+            .doFinally(signal -> {
+                synchronized (this) {
+                    changedWhileLoading = null;
+                }
+            })
+            .then();
+    }
+
+    private synchronized void putIfUnchanged(Counter counter) {
+        var momentName = momentNameOf(counter.getMetadata().getName());
+        if (momentName == null || changedWhileLoading.contains(momentName)) {
+            return;
+        }
+        stats.put(momentName, pack(counter));
+    }
+
+    /**
+     * Gets the name of the moment of a counter.
+     *
+     * @param counterName counter name
+     * @return the moment name, {@code null} if it is not a counter of a moment
+     */
+    @Nullable
+    public static String momentNameOf(String counterName) {
+        if (counterName == null || !counterName.startsWith(COUNTER_NAME_PREFIX)) {
+            return null;
+        }
+        return counterName.substring(COUNTER_NAME_PREFIX.length());
+    }
+
+    static long pack(Counter counter) {
+        return pack(counter.getUpvote(), counter.getTotalComment(), counter.getApprovedComment());
+    }
+
+    static long pack(Integer upvote, Integer totalComment, Integer approvedComment) {
+        return clamp(upvote) << (COUNT_BITS * 2)
+            | clamp(totalComment) << COUNT_BITS
+            | clamp(approvedComment);
+    }
+
+    static Stats unpack(long packed) {
+        return Stats.builder()
+            .upvote((int) (packed >>> (COUNT_BITS * 2) & COUNT_MASK))
+            .totalComment((int) (packed >>> COUNT_BITS & COUNT_MASK))
+            .approvedComment((int) (packed & COUNT_MASK))
+            .build();
+    }
+
+    /**
+     * Counts are capped at 2^21 - 1 so that three of them fit into a long.
+     */
+    private static long clamp(Integer count) {
+        if (count == null || count < 0) {
+            return 0;
+        }
+        return Math.min(count, COUNT_MASK);
+    }
+}
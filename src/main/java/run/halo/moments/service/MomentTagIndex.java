@@ -0,0 +1,236 @@
+package run.halo.moments.service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.ExtensionUtil;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.moments.Moment;
+import run.halo.moments.event.MomentDeletedEvent;
+import run.halo.moments.event.MomentUpdatedEvent;
+import run.halo.moments.finders.impl.MomentFinderImpl;
+
+/**
+ * <p>An in-memory tag statistics table of moments.</p>
+ * <p>It holds the moment count of every tag of public and approved moments, and a per-owner
+ * tag dictionary of all moments used by the tag autocomplete.</p>
+ * <p>The table is built lazily on first read by scanning all moments once, after that it is
+ * maintained incrementally from {@link MomentUpdatedEvent} and {@link MomentDeletedEvent}, so
+ * reads cost O(#tags) instead of O(#moments).</p>
+ *
+ * @since 1.17.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MomentTagIndex {
+
+    private final ExtensionClient client;
+
+    private final ReactiveExtensionClient reactiveClient;
+
+    /**
+     * Indexed moments by moment name, guarded by {@code this}.
+     */
+    private final Map<String, IndexedMoment> moments = new HashMap<>();
+
+    /**
+     * Moment count of every tag of public and approved moments, guarded by {@code this}.
+     */
+    private final Map<String, Integer> publicTagCounts = new HashMap<>();
+
+    /**
+     * Tag dictionary of every owner, keyed by {@link #dictionaryKey(String)} so that prefix
+     * lookups are range scans. Guarded by {@code this}.
+     */
+    private final Map<String, NavigableMap<String, TagCount>> ownerTags = new HashMap<>();
+
+    /**
+     * Names of moments removed while building, so that the build does not add them back.
+     * Guarded by {@code this}, {@code null} when not building.
+     */
+    private Set<String> removedWhileBuilding;
+
+    private final Mono<Void> initializer = Mono.defer(this::build)
+        .cache(unused -> Duration.ofMillis(Long.MAX_VALUE),
+            error -> Duration.ZERO,
+            () -> Duration.ofMillis(Long.MAX_VALUE));
+
+    /**
+     * Lists the tags of public and approved moments with their moment count, sorted by name.
+     *
+     * @return a flux of tag counts
+     */
+    public Flux<TagCount> listPublicTags() {
+        return initializer.thenMany(Flux.defer(() -> {
+            List<TagCount> tagCounts;
+            synchronized (this) {
+                tagCounts = publicTagCounts.entrySet().stream()
+                    .map(entry -> new TagCount(entry.getKey(), entry.getValue()))
+                    .toList();
+            }
+            return Flux.fromStream(tagCounts.stream()
+                .sorted(Comparator.comparing(TagCount::name)));
+        }));
+    }
+
+    /**
+     * Searches the tags used by the moments of the given owner.
+     * <p>Tags starting with the keyword come first, followed by tags containing it, both
+     * ignoring case. Within each group tags are ranked by usage frequency.</p>
+     *
+     * @param owner owner name
+     * @param keyword keyword to match, all tags are matched if blank
+     * @param limit max number of tags, no limit if not positive
+     * @return a flux of tag names
+     */
+    public Flux<String> searchOwnerTags(String owner, @Nullable String keyword, int limit) {
+        return initializer.thenMany(Flux.defer(() -> {
+            var maxSize = limit > 0 ? limit : Integer.MAX_VALUE;
+            var prefix = StringUtils.isBlank(keyword) ? ""
+                : keyword.strip().toLowerCase(Locale.ROOT);
+            List<TagCount> prefixMatches;
+            List<TagCount> substringMatches = List.of();
+            synchronized (this) {
+                var dictionary = ownerTags.get(owner);
+                if (dictionary == null) {
+                    return Flux.empty();
+                }
+                var prefixRange = dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE,
+                    false);
+                prefixMatches = List.copyOf(prefixRange.values());
+                if (!prefix.isEmpty() && prefixMatches.size() < maxSize) {
+                    substringMatches = dictionary.entrySet().stream()
+                        .filter(entry -> !entry.getKey().startsWith(prefix)
+                            && entry.getKey().contains(prefix))
+                        .map(Map.Entry::getValue)
+                        .toList();
+                }
+            }
+            var byUsage = Comparator.comparingInt(TagCount::momentCount).reversed()
+                .thenComparing(TagCount::name);
+            return Flux.concat(
+                    Flux.fromStream(prefixMatches.stream().sorted(byUsage)),
+                    Flux.fromStream(substringMatches.stream().sorted(byUsage))
+                )
+                .map(TagCount::name)
+                .take(maxSize);
+        }));
+    }
+
+    @EventListener(MomentUpdatedEvent.class)
+    public void onMomentUpdated(MomentUpdatedEvent event) {
+        var name = event.getMomentName();
+        client.fetch(Moment.class, name)
+            .filter(moment -> !ExtensionUtil.isDeleted(moment))
+            .ifPresentOrElse(this::index, () -> remove(name));
+    }
+
+    @EventListener(MomentDeletedEvent.class)
+    public void onMomentDeleted(MomentDeletedEvent event) {
+        remove(event.getMomentName());
+    }
+
+    private Mono<Void> build() {
+        synchronized (this) {
+            removedWhileBuilding = new HashSet<>();
+        }
+        return reactiveClient.listAll(Moment.class, new ListOptions(), Sort.unsorted())
+            .filter(moment -> !ExtensionUtil.isDeleted(moment))
+            .doOnNext(this::indexIfAbsent)
+            .count()
+            .doOnNext(count -> log.debug("Built moment tag index with {} moments", count))
+            .doFinally(signal -> {
+                synchronized (this) {
+                    removedWhileBuilding = null;
+                }
+            })
+            .then();
+    }
+
+    private synchronized void indexIfAbsent(Moment moment) {
+        var name = moment.getMetadata().getName();
+        if (moments.containsKey(name) || removedWhileBuilding.contains(name)) {
+            return;
+        }
+        index(moment);
+    }
+
+    synchronized void index(Moment moment) {
+        var name = moment.getMetadata().getName();
+        unindex(moments.remove(name));
+        var tags = moment.getSpec().getTags();
+        var indexed = new IndexedMoment(moment.getSpec().getOwner(),
+            tags == null ? Set.of() : Set.copyOf(tags),
+            MomentFinderImpl.FIXED_PREDICATE.test(moment));
+        moments.put(name, indexed);
+        if (indexed.owner() != null) {
+            var dictionary = ownerTags.computeIfAbsent(indexed.owner(), key -> new TreeMap<>());
+            indexed.tags().forEach(tag -> dictionary.merge(dictionaryKey(tag),
+                new TagCount(tag, 1),
+                (previous, added) -> new TagCount(tag, previous.momentCount() + 1)));
+        }
+        if (indexed.exposed()) {
+            indexed.tags().forEach(tag -> publicTagCounts.merge(tag, 1, Integer::sum));
+        }
+    }
+
+    synchronized void remove(String momentName) {
+        unindex(moments.remove(momentName));
+        if (removedWhileBuilding != null) {
+            removedWhileBuilding.add(momentName);
+        }
+    }
+
+    private void unindex(IndexedMoment indexed) {
+        if (indexed == null) {
+            return;
+        }
+        var dictionary = indexed.owner() == null ? null : ownerTags.get(indexed.owner());
+        if (dictionary != null) {
+            indexed.tags().forEach(tag -> dictionary.computeIfPresent(dictionaryKey(tag),
+                (key, tagCount) -> tagCount.momentCount() > 1
+                    ? new TagCount(tagCount.name(), tagCount.momentCount() - 1) : null));
+            if (dictionary.isEmpty()) {
+                ownerTags.remove(indexed.owner());
+            }
+        }
+        if (!indexed.exposed()) {
+            return;
+        }
+        indexed.tags().forEach(tag -> publicTagCounts.computeIfPresent(tag,
+            (key, count) -> count > 1 ? count - 1 : null));
+    }
+
+    /**
+     * Tags are looked up ignoring case, the tag itself is appended to keep tags that only
+     * differ in case apart.
+     */
+    static String dictionaryKey(String tag) {
+        return tag.toLowerCase(Locale.ROOT) + '\0' + tag;
+    }
+
+    record IndexedMoment(String owner, Set<String> tags, boolean exposed) {
+    }
+
+    public record TagCount(String name, int momentCount) {
+    }
+}
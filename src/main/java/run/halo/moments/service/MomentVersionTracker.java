@@ -0,0 +1,137 @@
+package run.halo.moments.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import run.halo.app.plugin.PluginConfigUpdatedEvent;
+import run.halo.moments.event.MomentDeletedEvent;
+import run.halo.moments.event.MomentHasNewCommentEvent;
+import run.halo.moments.event.MomentUpdatedEvent;
+
+/**
+ * <p>Tracks the content versions of the moments collection and of every single moment.</p>
+ * <p>The collection generation is bumped whenever a moment is updated, deleted, commented or
+ * its stats change, and whenever the plugin settings, the site settings or the theme change, so
+ * anything derived from the public moments can use it as a cache key. The versions also drive
+ * the {@code ETag} and {@code Last-Modified} validators of the moment pages and the RSS
+ * feed.</p>
+ * <p>Nothing is persisted, validators issued before a restart are simply treated as stale.</p>
+ *
+ * @since 1.17.0
+ */
+@Component
+public class MomentVersionTracker {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong settingsGeneration = new AtomicLong();
+
+    private final Map<String, Version> momentVersions = new ConcurrentHashMap<>();
+
+    private volatile Instant lastModified = now();
+
+    private volatile Instant settingsModified = lastModified;
+
+    private final long epoch = lastModified.getEpochSecond();
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Gets the version of the moments collection.
+     *
+     * @return the collection version
+     */
+    public Version collectionVersion() {
+        return new Version("moments-" + epoch + '-' + generation.get(), lastModified);
+    }
+
+    /**
+     * Gets the version of a single moment, moments not changed since startup share the startup
+     * version.
+     *
+     * @param momentName moment name
+     * @return the moment version
+     */
+    public Version momentVersion(String momentName) {
+        var version = momentVersions.get(momentName);
+        var settings = settingsGeneration.get();
+        var settingsModified = this.settingsModified;
+        if (version == null) {
+            return new Version("moment-" + epoch + '-' + settings + "-0", settingsModified);
+        }
+        var modified = version.lastModified().isAfter(settingsModified)
+            ? version.lastModified() : settingsModified;
+        return new Version("moment-" + epoch + '-' + settings + '-' + version.tag(), modified);
+    }
+
+    @EventListener(MomentUpdatedEvent.class)
+    public void onMomentUpdated(MomentUpdatedEvent event) {
+        touch(event.getMomentName());
+    }
+
+    @EventListener(MomentDeletedEvent.class)
+    public void onMomentDeleted(MomentDeletedEvent event) {
+        touch(event.getMomentName());
+    }
+
+    @EventListener(MomentHasNewCommentEvent.class)
+    public void onNewComment(MomentHasNewCommentEvent event) {
+        touch(event.getComment().getSpec().getSubjectRef().getName());
+    }
+
+    /**
+     * Called when the upvote or comment counts of a moment changed.
+     *
+     * @param momentName moment name
+     */
+    public void onStatsChanged(String momentName) {
+        if (momentName != null) {
+            touch(momentName);
+        }
+    }
+
+    /**
+     * Called when anything that every rendered page depends on changed, e.g. the plugin
+     * settings, the site settings or the theme.
+     */
+    @EventListener(PluginConfigUpdatedEvent.class)
+    public void onSettingsChanged() {
+        settingsGeneration.incrementAndGet();
+        settingsModified = bumpCollection();
+    }
+
+    private void touch(String momentName) {
+        var now = bumpCollection();
+        momentVersions.compute(momentName, (name, version) -> {
+            var counter = version == null ? 1 : Long.parseLong(version.tag()) + 1;
+            return new Version(String.valueOf(counter), now);
+        });
+    }
+
+    private Instant bumpCollection() {
+        var now = now();
+        lastModified = now;
+        generation.incrementAndGet();
+        return now;
+    }
+
+    private static Instant now() {
+        // HTTP dates only have second precision
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * A content version.
+     *
+     * @param tag entity tag, without quotes
+     * @param lastModified last modification time with second precision
+     */
+    public record Version(String tag, Instant lastModified) {
+    }
+}
@@ -12,4 +12,9 @@ public interface RoleService {
      * @return <p>true if the source role contains any role in the candidates, otherwise false</p>
      */
     Mono<Boolean> joint(Collection<String> source, Collection<String> candidates);
+
+    /**
+     * Evicts the cached role dependencies, called when any role changes.
+     */
+    void evictCache();
 }
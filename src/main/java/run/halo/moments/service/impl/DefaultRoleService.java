@@ -1,98 +1,166 @@
 package run.halo.moments.service.impl;
 
-import static run.halo.app.extension.Comparators.compareCreationTimestamp;
-
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
-import org.springframework.util.CollectionUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import run.halo.app.core.extension.Role;
+import run.halo.app.extension.ListOptions;
 import run.halo.app.extension.MetadataUtil;
 import run.halo.app.extension.ReactiveExtensionClient;
 import run.halo.app.infra.utils.JsonUtils;
 import run.halo.moments.service.RoleService;
 import run.halo.moments.util.AuthorityUtils;
+import run.halo.moments.util.LruCache;
 
+/**
+ * <p>Resolves role dependencies from an in-memory graph of all roles.</p>
+ * <p>The graph is built from a single listing of the roles on first use and rebuilt lazily
+ * after {@link #evictCache()}, which is called by {@link run.halo.moments.RoleReconciler} on
+ * every role change. The dependency closure of every role set is memoized in the graph, so
+ * repeated checks of the same roles are a hash lookup.</p>
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class DefaultRoleService implements RoleService {
 
+    static final int CLOSURE_CACHE_CAPACITY = 256;
+
     private final ReactiveExtensionClient client;
 
+    private final AtomicReference<Mono<RoleGraph>> graph = new AtomicReference<>();
+
+    public DefaultRoleService(ReactiveExtensionClient client) {
+        this.client = client;
+        this.graph.set(newGraphLoader());
+    }
+
     @Override
     public Mono<Boolean> joint(Collection<String> source, Collection<String> candidates) {
         if (source.contains(AuthorityUtils.SUPER_ROLE_NAME)) {
             return Mono.just(true);
         }
-        return listDependencies(new HashSet<>(source))
-            .map(role -> role.getMetadata().getName())
-            .collect(Collectors.toSet())
+        return graph.get()
+            .map(roleGraph -> roleGraph.closure(source))
             .map(roleNames -> !Collections.disjoint(roleNames, candidates));
     }
 
-    private Flux<Role> listDependencies(Set<String> names) {
-        var visited = new HashSet<String>();
-        return listRoles(names)
-            .expand(role -> {
-                var name = role.getMetadata().getName();
-                if (visited.contains(name)) {
-                    return Flux.empty();
-                }
-                if (log.isTraceEnabled()) {
-                    log.trace("Expand role: {}", role.getMetadata().getName());
-                }
-                visited.add(name);
-                var annotations = MetadataUtil.nullSafeAnnotations(role);
-                var dependenciesJson = annotations.get(Role.ROLE_DEPENDENCIES_ANNO);
-                var dependencies = stringToList(dependenciesJson);
-
-                return Flux.fromIterable(dependencies)
-                    .filter(dep -> !visited.contains(dep))
-                    .collect(Collectors.<String>toSet())
-                    .flatMapMany(this::listRoles);
-            })
-            .concatWith(Flux.defer(() -> listAggregatedRoles(visited)));
+    @Override
+    public void evictCache() {
+        // a build in progress still serves its current subscribers, later reads see the change
+        graph.set(newGraphLoader());
     }
 
-    private Flux<Role> listAggregatedRoles(Set<String> roleNames) {
-        var aggregatedLabelNames = roleNames.stream()
-            .map(roleName -> Role.ROLE_AGGREGATE_LABEL_PREFIX + roleName)
-            .collect(Collectors.toSet());
-        Predicate<Role> predicate = role -> {
-            var labels = role.getMetadata().getLabels();
-            if (labels == null) {
-                return false;
-            }
-            return aggregatedLabelNames.stream()
-                .anyMatch(aggregatedLabel -> Boolean.parseBoolean(labels.get(aggregatedLabel)));
-        };
-        return client.list(Role.class, predicate, compareCreationTimestamp(true));
+    private Mono<RoleGraph> newGraphLoader() {
+        return client.listAll(Role.class, new ListOptions(), Sort.unsorted())
+            .collectList()
+            .map(RoleGraph::of)
+            .doOnNext(roleGraph -> log.debug("Built role graph of {} roles", roleGraph.size()))
+            .cache(unused -> Duration.ofMillis(Long.MAX_VALUE),
+                error -> Duration.ZERO,
+                () -> Duration.ZERO);
     }
 
-    private Flux<Role> listRoles(Set<String> names) {
-        if (CollectionUtils.isEmpty(names)) {
-            return Flux.empty();
+    /**
+     * An immutable snapshot of the role dependencies with memoized closures.
+     */
+    static final class RoleGraph {
+
+        private final Map<String, List<String>> dependencies;
+
+        /**
+         * Names of the roles aggregated into a role, by the name of that role.
+         */
+        private final Map<String, Set<String>> aggregatedRoles;
+
+        private final LruCache<Set<String>, Set<String>> closures =
+            new LruCache<>(CLOSURE_CACHE_CAPACITY);
+
+        private RoleGraph(Map<String, List<String>> dependencies,
+            Map<String, Set<String>> aggregatedRoles) {
+            this.dependencies = dependencies;
+            this.aggregatedRoles = aggregatedRoles;
         }
 
-        Predicate<Role> predicate = role -> names.contains(role.getMetadata().getName());
-        return client.list(Role.class, predicate, compareCreationTimestamp(true));
+        static RoleGraph of(List<Role> roles) {
+            var dependencies = new HashMap<String, List<String>>(roles.size());
+            var aggregatedRoles = new HashMap<String, Set<String>>();
+            for (var role : roles) {
+                var name = role.getMetadata().getName();
+                var annotations = MetadataUtil.nullSafeAnnotations(role);
+                dependencies.put(name,
+                    stringToList(annotations.get(Role.ROLE_DEPENDENCIES_ANNO)));
+                MetadataUtil.nullSafeLabels(role).forEach((label, value) -> {
+                    if (label.startsWith(Role.ROLE_AGGREGATE_LABEL_PREFIX)
+                        && Boolean.parseBoolean(value)) {
+                        var target = label.substring(Role.ROLE_AGGREGATE_LABEL_PREFIX.length());
+                        aggregatedRoles.computeIfAbsent(target, key -> new HashSet<>())
+                            .add(name);
+                    }
+                });
+            }
+            return new RoleGraph(dependencies, aggregatedRoles);
+        }
+
+        int size() {
+            return dependencies.size();
+        }
+
+        /**
+         * Gets the names of the existing roles in the given roles and their transitive
+         * dependencies, plus the roles aggregated into any of them.
+         */
+        Set<String> closure(Collection<String> source) {
+            var key = Collections.unmodifiableSet(new TreeSet<>(source));
+            var cached = closures.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            var closure = Collections.unmodifiableSet(computeClosure(key));
+            closures.put(key, closure);
+            return closure;
+        }
+
+        private Set<String> computeClosure(Set<String> source) {
+            var visited = new HashSet<String>();
+            var queue = new ArrayDeque<String>();
+            source.stream().filter(dependencies::containsKey).forEach(queue::add);
+            while (!queue.isEmpty()) {
+                var name = queue.poll();
+                if (!visited.add(name)) {
+                    continue;
+                }
+                if (log.isTraceEnabled()) {
+                    log.trace("Expand role: {}", name);
+                }
+                dependencies.get(name).stream()
+                    .filter(dependency -> !visited.contains(dependency))
+                    .filter(dependencies::containsKey)
+                    .forEach(queue::add);
+            }
+            var result = new HashSet<>(visited);
+            visited.forEach(name ->
+                result.addAll(aggregatedRoles.getOrDefault(name, Set.of())));
+            return result;
+        }
     }
 
     @NonNull
-    private List<String> stringToList(String str) {
+    private static List<String> stringToList(String str) {
         if (StringUtils.isBlank(str)) {
             return Collections.emptyList();
         }
@@ -1,29 +1,36 @@
 package run.halo.moments.service.impl;
 
+import static run.halo.app.extension.index.query.QueryFactory.contains;
+import static run.halo.app.extension.index.query.QueryFactory.in;
+
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.Assert;
-import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import run.halo.app.core.extension.Counter;
 import run.halo.app.core.extension.User;
 import run.halo.app.extension.ListOptions;
 import run.halo.app.extension.ListResult;
+import run.halo.app.extension.PageRequestImpl;
 import run.halo.app.extension.ReactiveExtensionClient;
-import run.halo.moments.Contributor;
+import run.halo.app.search.HaloDocument;
+import run.halo.app.search.SearchOption;
+import run.halo.app.search.SearchService;
+import run.halo.moments.CursorListResult;
 import run.halo.moments.ListedMoment;
 import run.halo.moments.Moment;
+import run.halo.moments.MomentCursor;
 import run.halo.moments.MomentQuery;
-import run.halo.moments.Stats;
 import run.halo.moments.exception.NotFoundException;
+import run.halo.moments.search.MomentHaloDocumentsProvider;
+import run.halo.moments.service.ListedMomentAssembler;
 import run.halo.moments.service.MomentService;
-import run.halo.moments.util.MeterUtils;
+import run.halo.moments.service.MomentTagIndex;
 
 /**
  * Listed moment.
@@ -36,18 +43,102 @@ import run.halo.moments.util.MeterUtils;
 @RequiredArgsConstructor
 public class MomentServiceImpl implements MomentService {
 
+    /**
+     * Max number of search hits a keyword query is narrowed to, only the most relevant hits of
+     * a query with more hits are listed, so its total is capped at this number.
+     */
+    static final int SEARCH_HIT_LIMIT = 1000;
+
     private final ReactiveExtensionClient client;
 
+    private final ListedMomentAssembler listedMomentAssembler;
+
+    private final MomentTagIndex momentTagIndex;
+
+    private final ObjectProvider<SearchService> searchServiceProvider;
+
     @Override
     public Mono<ListResult<ListedMoment>> listMoment(MomentQuery query) {
-        return client.listBy(Moment.class, query.toListOptions(), query.toPageRequest())
-            .flatMap(listResult -> Flux.fromStream(listResult.get())
-                .concatMap(this::toListedMoment)
-                .collectList()
-                .map(list -> new ListResult<>(listResult.getPage(), listResult.getSize(),
-                    listResult.getTotal(), list)
-                )
-            );
+        return resolveListOptions(query)
+            .flatMap(listOptions -> client.listBy(Moment.class, listOptions,
+                query.toPageRequest()))
+            .flatMap(listedMomentAssembler::assemble)
+            .defaultIfEmpty(
+                new ListResult<>(query.getPage(), query.getSize(), 0, List.of()));
+    }
+
+    @Override
+    public Mono<CursorListResult<ListedMoment>> listMomentAfter(MomentQuery query) {
+        var cursor = query.getCursor();
+        return resolveListOptions(query)
+            .flatMap(listOptions -> {
+                if (cursor != null) {
+                    listOptions.setFieldSelector(listOptions.getFieldSelector()
+                        .andQuery(cursor.seekQuery()));
+                }
+                return client.listBy(Moment.class, listOptions,
+                    PageRequestImpl.of(1, query.getSize(), MomentCursor.SORT));
+            })
+            .map(CursorListResult::of)
+            .flatMap(page -> listedMomentAssembler.assembleAll(page.getItems())
+                .map(page::withItems))
+            .defaultIfEmpty(CursorListResult.empty(query.getSize()));
+    }
+
+    /**
+     * <p>Resolves the list options of the query.</p>
+     * <p>The keyword is matched by the search engine, which indexes every moment that is not
+     * being deleted, and the other filters of the query are applied to its hits. At most
+     * {@link #SEARCH_HIT_LIMIT} hits are listed. Only if the search engine is not available,
+     * the keyword is matched against the owner name.</p>
+     *
+     * @return the list options, or empty if no moment matches the keyword
+     */
+    Mono<ListOptions> resolveListOptions(MomentQuery query) {
+        var listOptions = query.toListOptions();
+        var keyword = query.getKeyword();
+        if (keyword == null) {
+            return Mono.just(listOptions);
+        }
+        var searchService = searchServiceProvider.getIfAvailable();
+        if (searchService == null) {
+            return Mono.just(matchKeyword(listOptions, keyword));
+        }
+        return searchMomentNames(searchService, keyword, query.getOwnerName())
+            .flatMap(names -> {
+                if (names.isEmpty()) {
+                    return Mono.empty();
+                }
+                listOptions.setFieldSelector(listOptions.getFieldSelector()
+                    .andQuery(in("metadata.name", names)));
+                return Mono.just(listOptions);
+            });
+    }
+
+    private static ListOptions matchKeyword(ListOptions listOptions, String keyword) {
+        listOptions.setFieldSelector(listOptions.getFieldSelector()
+            .andQuery(contains("spec.owner", keyword)));
+        return listOptions;
+    }
+
+    /**
+     * Searches the names of moments matching the keyword, the other filters of the query are
+     * applied to the names afterwards.
+     */
+    private Mono<List<String>> searchMomentNames(SearchService searchService, String keyword,
+        @Nullable String ownerName) {
+        var option = new SearchOption();
+        option.setKeyword(keyword);
+        option.setLimit(SEARCH_HIT_LIMIT);
+        option.setIncludeTypes(List.of(MomentHaloDocumentsProvider.MOMENT_DOCUMENT_TYPE));
+        if (ownerName != null) {
+            option.setIncludeOwnerNames(List.of(ownerName));
+        }
+        return searchService.search(option)
+            .map(result -> result.getHits().stream()
+                .map(HaloDocument::getMetadataName)
+                .distinct()
+                .toList());
     }
 
     @Override
@@ -68,21 +159,15 @@ public class MomentServiceImpl implements MomentService {
     }
 
     @Override
-    public Flux<String> listAllTags(MomentQuery query) {
-        return client.listAll(Moment.class, query.toListOptions(),
-                Sort.by("metadata.name").descending())
-            .flatMapIterable(moment -> {
-                var tags = moment.getSpec().getTags();
-                return Objects.requireNonNullElseGet(tags, List::of);
-            })
-            .distinct();
+    public Flux<String> listTags(String owner, String keyword, int limit) {
+        return momentTagIndex.searchOwnerTags(owner, keyword, limit);
     }
 
     @Override
     public Mono<ListedMoment> findMomentByName(String name) {
         return client.fetch(Moment.class, name)
             .switchIfEmpty(Mono.error(new NotFoundException("Moment not found.")))
-            .flatMap(this::toListedMoment);
+            .flatMap(listedMomentAssembler::assemble);
     }
 
     @Override
@@ -102,43 +187,6 @@ public class MomentServiceImpl implements MomentService {
         return client.update(moment);
     }
 
-    private Mono<ListedMoment> toListedMoment(Moment moment) {
-        ListedMoment.ListedMomentBuilder momentBuilder = ListedMoment.builder()
-            .moment(moment);
-        return Mono.just(momentBuilder)
-            .map(ListedMoment.ListedMomentBuilder::build)
-            .flatMap(lm -> fetchStats(moment)
-                .doOnNext(lm::setStats)
-                .thenReturn(lm))
-            .flatMap(lm -> setOwner(moment.getSpec().getOwner(), lm));
-    }
-
-    private Mono<ListedMoment> setOwner(String owner, ListedMoment moment) {
-        return client.fetch(User.class, owner)
-            .map(user -> {
-                Contributor contributor = new Contributor();
-                contributor.setName(user.getMetadata().getName());
-                contributor.setDisplayName(user.getSpec().getDisplayName());
-                contributor.setAvatar(user.getSpec().getAvatar());
-                return contributor;
-            })
-            .doOnNext(moment::setOwner)
-            .thenReturn(moment);
-    }
-
-    private Mono<Stats> fetchStats(Moment moment) {
-        Assert.notNull(moment, "The moment must not be null.");
-        String name = moment.getMetadata().getName();
-        return client.fetch(Counter.class, MeterUtils.nameOf(Moment.class, name))
-            .map(counter -> Stats.builder()
-                .upvote(counter.getUpvote())
-                .totalComment(counter.getTotalComment())
-                .approvedComment(counter.getApprovedComment())
-                .build())
-            .defaultIfEmpty(Stats.empty());
-
-    }
-
     protected Mono<User> getContextUser() {
         return ReactiveSecurityContextHolder.getContext()
             .flatMap(ctx -> {
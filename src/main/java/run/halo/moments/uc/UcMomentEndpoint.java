@@ -8,7 +8,7 @@ import static org.springdoc.core.fn.builders.requestbody.Builder.requestBodyBuil
 import java.time.Instant;
 import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.springdoc.core.fn.builders.schema.Builder;
 import org.springdoc.webflux.core.fn.SpringdocRouteBuilder;
 import org.springframework.http.HttpStatus;
@@ -28,6 +28,7 @@ import reactor.core.publisher.Mono;
 import run.halo.app.core.extension.endpoint.CustomEndpoint;
 import run.halo.app.extension.GroupVersion;
 import run.halo.app.extension.ListResult;
+import run.halo.moments.CursorListResult;
 import run.halo.moments.ListedMoment;
 import run.halo.moments.Moment;
 import run.halo.moments.MomentQuery;
@@ -62,6 +63,15 @@ public class UcMomentEndpoint implements CustomEndpoint {
                     );
                 MomentQuery.buildParameters(builder);
             })
+            .GET("moments/-/cursor", this::listMyMomentByCursor, builder -> {
+                builder.operationId("ListMyMomentsByCursor")
+                    .description("List My moments by cursor, newest first.")
+                    .tag(tag)
+                    .response(responseBuilder()
+                        .implementation(CursorListResult.ListedMomentCursorList.class)
+                    );
+                MomentQuery.buildCursorParameters(builder);
+            })
             .GET("moments/{name}", this::getMyMoment,
                 builder -> builder.operationId("GetMyMoment")
                     .description("Get a My Moment.")
@@ -133,6 +143,13 @@ public class UcMomentEndpoint implements CustomEndpoint {
                         .required(false)
                         .implementation(String.class)
                     )
+                    .parameter(parameterBuilder()
+                        .name("limit")
+                        .in(ParameterIn.QUERY)
+                        .description("Max number of tags, no limit if absent")
+                        .required(false)
+                        .implementation(Integer.class)
+                    )
                     .response(responseBuilder()
                         .implementationArray(String.class)
                     ))
@@ -212,6 +229,13 @@ public class UcMomentEndpoint implements CustomEndpoint {
             .flatMap(listedMoments -> ServerResponse.ok().bodyValue(listedMoments));
     }
 
+    private Mono<ServerResponse> listMyMomentByCursor(ServerRequest request) {
+        return getCurrentUser()
+            .map(user -> new MomentQuery(request.exchange(), user.getName()))
+            .flatMap(momentService::listMomentAfter)
+            .flatMap(listedMoments -> ServerResponse.ok().bodyValue(listedMoments));
+    }
+
     private Mono<Authentication> getCurrentUser() {
         return ReactiveSecurityContextHolder.getContext()
             .map(SecurityContext::getAuthentication);
@@ -219,11 +243,9 @@ public class UcMomentEndpoint implements CustomEndpoint {
 
     private Mono<ServerResponse> listMyTags(ServerRequest request) {
         String name = request.queryParam("name").orElse(null);
+        int limit = request.queryParam("limit").map(NumberUtils::toInt).orElse(0);
         return getCurrentUser()
-            .map(user -> new MomentQuery(request.exchange(), user.getName()))
-            .flatMapMany(momentService::listAllTags)
-            .filter(tagName -> StringUtils.isBlank(name) || StringUtils.containsIgnoreCase(tagName,
-                name))
+            .flatMapMany(user -> momentService.listTags(user.getName(), name, limit))
             .collectList()
             .flatMap(result -> ServerResponse.ok().bodyValue(result));
     }
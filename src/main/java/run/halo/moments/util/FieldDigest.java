@@ -0,0 +1,68 @@
+package run.halo.moments.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Objects;
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>Builds a stable SHA-256 digest of a sequence of fields.</p>
+ * <p>Every field is length prefixed and {@code null} is distinct from an empty value, so
+ * adjacent fields can not be shifted into each other.</p>
+ */
+public final class FieldDigest {
+    private final MessageDigest digest;
+
+    private FieldDigest() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    public static FieldDigest sha256() {
+        return new FieldDigest();
+    }
+
+    public FieldDigest add(@Nullable Object field) {
+        if (field == null) {
+            digest.update((byte) 0);
+            return this;
+        }
+        var bytes = field.toString().getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length + 1).array());
+        digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * Adds the values sorted by their string form, so the digest does not depend on the
+     * iteration order of the collection.
+     */
+    public FieldDigest addSorted(@Nullable Collection<?> values) {
+        if (values == null) {
+            return add(null);
+        }
+        add(values.size());
+        values.stream()
+            .map(value -> Objects.toString(value, null))
+            .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+            .forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Completes the digest, the builder can not be used afterwards.
+     *
+     * @return the hex encoded digest
+     */
+    public String hex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,98 @@
+package run.halo.moments.util;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A small thread-safe least-recently-used cache with a fixed capacity.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @since 1.17.0
+ */
+public class LruCache<K, V> {
+
+    private final int capacity;
+
+    private final LinkedHashMap<K, V> entries;
+
+    /**
+     * Creates a cache that holds at most {@code capacity} entries.
+     *
+     * @param capacity max number of entries, the least recently used one is evicted first
+     */
+    public LruCache(int capacity) {
+        Assert.isTrue(capacity > 0, "The capacity must be greater than 0.");
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    @Nullable
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Gets the cached values of the given keys, missing keys are absent in the result.
+     */
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        var result = new LinkedHashMap<K, V>(keys.size());
+        for (K key : keys) {
+            var value = entries.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void put(K key, V value) {
+        Assert.notNull(value, "The value must not be null.");
+        entries.put(key, value);
+    }
+
+    /**
+     * Puts the value only if the condition holds, the condition is evaluated under the lock of
+     * the cache, so it can not change between the check and the put.
+     *
+     * @return whether the value was put
+     */
+    public synchronized boolean putIf(K key, V value, BooleanSupplier condition) {
+        Assert.notNull(value, "The value must not be null.");
+        if (!condition.getAsBoolean()) {
+            return false;
+        }
+        entries.put(key, value);
+        return true;
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void removeIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,67 @@
+package run.halo.moments;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ServerWebInputException;
+
+class MomentCursorTest {
+
+    @Test
+    void shouldRoundTrip() {
+        var cursor = new MomentCursor(Instant.parse("2024-01-02T03:04:05.123Z"), "moment-a");
+
+        var decoded = MomentCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRoundTripWithoutReleaseTime() {
+        var cursor = new MomentCursor(null, "moment-a");
+
+        assertThat(MomentCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldKeepSeparatorInName() {
+        var cursor = new MomentCursor(Instant.parse("2024-01-02T03:04:05Z"), "a|b");
+
+        assertThat(MomentCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldEncodeUrlSafely() {
+        var encoded = new MomentCursor(Instant.parse("2024-01-02T03:04:05Z"), "???>>>").encode();
+
+        assertThat(encoded).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void shouldDecodeBlankAsStart() {
+        assertThat(MomentCursor.decode(null)).isNull();
+        assertThat(MomentCursor.decode("")).isNull();
+        assertThat(MomentCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> MomentCursor.decode("not base64!"))
+            .isInstanceOf(ServerWebInputException.class);
+        assertThatThrownBy(() -> MomentCursor.decode(encode("no-separator")))
+            .isInstanceOf(ServerWebInputException.class);
+        assertThatThrownBy(() -> MomentCursor.decode(encode("2024-01-02T03:04:05Z|")))
+            .isInstanceOf(ServerWebInputException.class);
+        assertThatThrownBy(() -> MomentCursor.decode(encode("yesterday|moment-a")))
+            .isInstanceOf(ServerWebInputException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
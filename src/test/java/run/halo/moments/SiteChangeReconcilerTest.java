@@ -0,0 +1,85 @@
+package run.halo.moments;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.core.extension.Theme;
+import run.halo.app.extension.ConfigMap;
+import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.Metadata;
+import run.halo.app.extension.controller.Reconciler;
+import run.halo.moments.service.MomentVersionTracker;
+
+class SiteChangeReconcilerTest {
+
+    private ExtensionClient client;
+
+    private MomentVersionTracker versionTracker;
+
+    private SiteChangeReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(ExtensionClient.class);
+        versionTracker = mock(MomentVersionTracker.class);
+        reconciler = new SiteChangeReconciler(client, versionTracker);
+    }
+
+    @Test
+    void shouldOnlyWatchSystemConfigMapsBeforeThemeResolved() {
+        assertThat(reconciler.isWatched("system")).isTrue();
+        assertThat(reconciler.isWatched("system-default")).isTrue();
+        assertThat(reconciler.isWatched("theme-earth-configMap")).isFalse();
+        assertThat(reconciler.isWatched("plugin-moments-configmap")).isFalse();
+    }
+
+    @Test
+    void shouldWatchConfigMapOfActiveTheme() {
+        givenActiveTheme("earth", "theme-earth-configMap");
+        when(client.fetch(Theme.class, "anther")).thenReturn(
+            Optional.of(theme("anther", "theme-anther-configMap")));
+
+        reconciler.reconcile(new Reconciler.Request("system"));
+
+        assertThat(reconciler.isWatched("theme-earth-configMap")).isTrue();
+        assertThat(reconciler.isWatched("theme-anther-configMap")).isFalse();
+        verify(versionTracker).onSettingsChanged();
+    }
+
+    @Test
+    void shouldFollowThemeSwitch() {
+        givenActiveTheme("earth", "theme-earth-configMap");
+        reconciler.reconcile(new Reconciler.Request("system"));
+
+        givenActiveTheme("anther", "theme-anther-configMap");
+        reconciler.reconcile(new Reconciler.Request("system"));
+
+        assertThat(reconciler.isWatched("theme-anther-configMap")).isTrue();
+        assertThat(reconciler.isWatched("theme-earth-configMap")).isFalse();
+    }
+
+    private void givenActiveTheme(String themeName, String configMapName) {
+        var system = new ConfigMap();
+        system.setMetadata(new Metadata());
+        system.getMetadata().setName("system");
+        system.setData(Map.of("theme", "{\"active\":\"" + themeName + "\"}"));
+        when(client.fetch(ConfigMap.class, "system")).thenReturn(Optional.of(system));
+        when(client.fetch(Theme.class, themeName))
+            .thenReturn(Optional.of(theme(themeName, configMapName)));
+    }
+
+    private static Theme theme(String name, String configMapName) {
+        var theme = new Theme();
+        theme.setMetadata(new Metadata());
+        theme.getMetadata().setName(name);
+        theme.setSpec(new Theme.ThemeSpec());
+        theme.getSpec().setConfigMapName(configMapName);
+        return theme;
+    }
+}
@@ -0,0 +1,56 @@
+package run.halo.moments.finders.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import run.halo.app.extension.Metadata;
+import run.halo.moments.Moment;
+
+class MomentFinderImplTest {
+
+    private static final Instant RELEASE_TIME = Instant.parse("2024-01-02T03:04:05Z");
+
+    @Test
+    void shouldPutPublicApprovedMomentsOnTimeline() {
+        var moment = moment(Moment.MomentVisible.PUBLIC, true, RELEASE_TIME);
+
+        assertThat(MomentFinderImpl.publicTimelineOf(moment)).isEqualTo(RELEASE_TIME);
+        assertThat(MomentFinderImpl.FIXED_PREDICATE.test(moment)).isTrue();
+    }
+
+    @Test
+    void shouldKeepOtherMomentsOffTimeline() {
+        assertThat(MomentFinderImpl.publicTimelineOf(
+            moment(Moment.MomentVisible.PRIVATE, true, RELEASE_TIME))).isNull();
+        assertThat(MomentFinderImpl.publicTimelineOf(
+            moment(Moment.MomentVisible.PUBLIC, false, RELEASE_TIME))).isNull();
+        assertThat(MomentFinderImpl.publicTimelineOf(
+            moment(Moment.MomentVisible.PUBLIC, null, RELEASE_TIME))).isNull();
+        assertThat(MomentFinderImpl.publicTimelineOf(
+            moment(Moment.MomentVisible.PUBLIC, true, null))).isNull();
+    }
+
+    @Test
+    void shouldKeepDeletedMomentsOffTimeline() {
+        var moment = moment(Moment.MomentVisible.PUBLIC, true, RELEASE_TIME);
+        moment.getMetadata().setDeletionTimestamp(Instant.now());
+
+        assertThat(MomentFinderImpl.publicTimelineOf(moment)).isNull();
+        assertThat(MomentFinderImpl.FIXED_PREDICATE.test(moment)).isFalse();
+    }
+
+    private static Moment moment(Moment.MomentVisible visible, Boolean approved,
+        Instant releaseTime) {
+        var moment = new Moment();
+        var metadata = new Metadata();
+        metadata.setName("moment-a");
+        moment.setMetadata(metadata);
+        var spec = new Moment.MomentSpec();
+        spec.setVisible(visible);
+        spec.setApproved(approved);
+        spec.setReleaseTime(releaseTime);
+        moment.setSpec(spec);
+        return moment;
+    }
+}
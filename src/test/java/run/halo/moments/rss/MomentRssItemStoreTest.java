@@ -0,0 +1,109 @@
+package run.halo.moments.rss;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.ListResult;
+import run.halo.app.extension.Metadata;
+import run.halo.feed.RSS2;
+import run.halo.moments.Moment;
+import run.halo.moments.event.MomentDeletedEvent;
+import run.halo.moments.event.MomentUpdatedEvent;
+import run.halo.moments.finders.MomentFinder;
+import run.halo.moments.vo.MomentVo;
+
+class MomentRssItemStoreTest {
+
+    private MomentFinder momentFinder;
+
+    private MomentRssItemStore store;
+
+    @BeforeEach
+    void setUp() {
+        momentFinder = mock(MomentFinder.class);
+        var itemConverter = mock(MomentRssItemConverter.class);
+        when(itemConverter.convert(any())).thenAnswer(invocation -> {
+            MomentVo moment = invocation.getArgument(0);
+            return RSS2.Item.builder().title(moment.getMetadata().getName()).build();
+        });
+        store = new MomentRssItemStore(momentFinder, itemConverter,
+            mock(ApplicationEventPublisher.class));
+        store.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.destroy();
+    }
+
+    @Test
+    void shouldListNewestFirst() {
+        givenMoments(moment("older", "2024-01-01T00:00:00Z"),
+            moment("newer", "2024-01-02T00:00:00Z"));
+
+        assertThat(titles(store.listNewest(10).block())).containsExactly("newer", "older");
+    }
+
+    @Test
+    void shouldNotPutDeletedMomentBack() {
+        var deleted = moment("deleted", "2024-01-02T00:00:00Z");
+        givenMoments(deleted, moment("kept", "2024-01-01T00:00:00Z"));
+        store.listNewest(10).block();
+
+        // the deletion event fires while the moment still holds finalizers
+        deleted.getMetadata().setDeletionTimestamp(Instant.now());
+        when(momentFinder.get("deleted")).thenReturn(Mono.just(deleted));
+        store.onMomentDeleted(new MomentDeletedEvent(this, "deleted"));
+
+        assertThat(titles(store.listNewest(10).block())).containsExactly("kept");
+        // served from the store, the deleted moment was not loaded again
+        verify(momentFinder, times(1)).list(1, 10);
+    }
+
+    @Test
+    void shouldRemoveMomentNoLongerPublic() {
+        givenMoments(moment("private", "2024-01-02T00:00:00Z"),
+            moment("kept", "2024-01-01T00:00:00Z"));
+        store.listNewest(10).block();
+
+        when(momentFinder.get("private")).thenReturn(Mono.empty());
+        store.onMomentUpdated(new MomentUpdatedEvent(this, "private"));
+
+        assertThat(titles(store.listNewest(10).block())).containsExactly("kept");
+    }
+
+    private void givenMoments(MomentVo... moments) {
+        var items = Arrays.stream(moments)
+            .sorted(Comparator.comparing((MomentVo moment) -> moment.getSpec().getReleaseTime())
+                .reversed())
+            .toList();
+        when(momentFinder.list(any(), any()))
+            .thenReturn(Mono.just(new ListResult<>(1, 10, items.size(), items)));
+    }
+
+    private static MomentVo moment(String name, String releaseTime) {
+        var metadata = new Metadata();
+        metadata.setName(name);
+        metadata.setVersion(1L);
+        var spec = new Moment.MomentSpec();
+        spec.setReleaseTime(Instant.parse(releaseTime));
+        return MomentVo.builder().metadata(metadata).spec(spec).build();
+    }
+
+    private static List<String> titles(List<RSS2.Item> items) {
+        return items.stream().map(RSS2.Item::getTitle).toList();
+    }
+}
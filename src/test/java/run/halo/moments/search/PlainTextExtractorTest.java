@@ -0,0 +1,62 @@
+package run.halo.moments.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PlainTextExtractorTest {
+
+    @Test
+    void shouldExtractTextOfBlankHtml() {
+        assertThat(PlainTextExtractor.extract(null, 0)).isEmpty();
+        assertThat(PlainTextExtractor.extract(" \n", 0)).isEmpty();
+    }
+
+    @Test
+    void shouldSeparateBlocks() {
+        assertThat(PlainTextExtractor.extract("<p>Hello <b>world</b></p><p>Next</p>", 0))
+            .isEqualTo("Hello world Next");
+        assertThat(PlainTextExtractor.extract("first<br>second", 0))
+            .isEqualTo("first second");
+    }
+
+    @Test
+    void shouldCollapseWhitespace() {
+        assertThat(PlainTextExtractor.extract("<p>  a \n\t b&nbsp;&nbsp;c  </p>", 0))
+            .isEqualTo("a b c");
+    }
+
+    @Test
+    void shouldDecodeEntities() {
+        assertThat(PlainTextExtractor.extract("<p>&lt;tag&gt; &amp; more</p>", 0))
+            .isEqualTo("<tag> & more");
+    }
+
+    @Test
+    void shouldSkipScriptsAndStyles() {
+        var html = "<p>text</p><script>alert(1)</script><style>p {}</style>"
+            + "<template><p>hidden</p></template>";
+
+        assertThat(PlainTextExtractor.extract(html, 0)).isEqualTo("text");
+    }
+
+    @Test
+    void shouldStopAtMaxLength() {
+        assertThat(PlainTextExtractor.extract("<p>abcdef</p><p>ghi</p>", 3)).isEqualTo("abc");
+    }
+
+    @Test
+    void shouldNotSplitSurrogatePairs() {
+        assertThat(PlainTextExtractor.extract("<p>ab😀cd</p>", 3)).isEqualTo("ab");
+        assertThat(PlainTextExtractor.extract("<p>ab😀cd</p>", 4))
+            .isEqualTo("ab😀");
+    }
+
+    @Test
+    void shouldAbbreviate() {
+        assertThat(PlainTextExtractor.abbreviate("abcdef", 4)).isEqualTo("abcd");
+        assertThat(PlainTextExtractor.abbreviate("abc", 4)).isEqualTo("abc");
+        assertThat(PlainTextExtractor.abbreviate("abc", 0)).isEqualTo("abc");
+        assertThat(PlainTextExtractor.abbreviate("ab😀", 3)).isEqualTo("ab");
+    }
+}
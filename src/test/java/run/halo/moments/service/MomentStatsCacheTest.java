@@ -0,0 +1,116 @@
+package run.halo.moments.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import run.halo.app.core.extension.Counter;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.Metadata;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.moments.Stats;
+
+class MomentStatsCacheTest {
+
+    @Test
+    void shouldPackAndUnpack() {
+        var stats = MomentStatsCache.unpack(MomentStatsCache.pack(1, 2, 3));
+
+        assertThat(stats.getUpvote()).isEqualTo(1);
+        assertThat(stats.getTotalComment()).isEqualTo(2);
+        assertThat(stats.getApprovedComment()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepMaxCountsApart() {
+        var max = (int) MomentStatsCache.COUNT_MASK;
+
+        var stats = MomentStatsCache.unpack(MomentStatsCache.pack(max, 0, max));
+
+        assertThat(stats.getUpvote()).isEqualTo(max);
+        assertThat(stats.getTotalComment()).isZero();
+        assertThat(stats.getApprovedComment()).isEqualTo(max);
+    }
+
+    @Test
+    void shouldClampOverflowingCounts() {
+        var max = (int) MomentStatsCache.COUNT_MASK;
+
+        var stats = MomentStatsCache.unpack(
+            MomentStatsCache.pack(Integer.MAX_VALUE, max + 1, 7));
+
+        assertThat(stats.getUpvote()).isEqualTo(max);
+        assertThat(stats.getTotalComment()).isEqualTo(max);
+        // an overflowing count must not spill into its neighbour
+        assertThat(stats.getApprovedComment()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldTreatMissingAndNegativeCountsAsZero() {
+        var stats = MomentStatsCache.unpack(MomentStatsCache.pack(null, -1, Integer.MIN_VALUE));
+
+        assertThat(stats.getUpvote()).isZero();
+        assertThat(stats.getTotalComment()).isZero();
+        assertThat(stats.getApprovedComment()).isZero();
+    }
+
+    @Test
+    void shouldReportWhetherStatsChanged() {
+        var cache = new MomentStatsCache(mock(ReactiveExtensionClient.class));
+        var counter = counter("moment-a", 1, 2, 2);
+
+        assertThat(cache.put(counter)).isTrue();
+        assertThat(cache.put(counter)).isFalse();
+
+        // visits are not part of the stats
+        counter.setVisit(10);
+        assertThat(cache.put(counter)).isFalse();
+
+        counter.setUpvote(2);
+        assertThat(cache.put(counter)).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreCountersOfOtherExtensions() {
+        var cache = new MomentStatsCache(mock(ReactiveExtensionClient.class));
+        var counter = counter("moment-a", 1, 0, 0);
+        counter.getMetadata().setName("posts.content.halo.run/post-a");
+
+        assertThat(cache.put(counter)).isFalse();
+        assertThat(MomentStatsCache.momentNameOf("posts.content.halo.run/post-a")).isNull();
+    }
+
+    @Test
+    void shouldGetStatsOfMoments() {
+        var client = mock(ReactiveExtensionClient.class);
+        when(client.listAll(eq(Counter.class), any(ListOptions.class), any(Sort.class)))
+            .thenReturn(Flux.just(counter("moment-a", 1, 2, 3)));
+        var cache = new MomentStatsCache(client);
+        cache.put(counter("moment-b", 4, 5, 6));
+
+        var stats = cache.getAll(List.of("moment-a", "moment-b", "moment-c")).block();
+
+        assertThat(stats).hasSize(3);
+        assertThat(stats.get("moment-a").getUpvote()).isEqualTo(1);
+        assertThat(stats.get("moment-b").getApprovedComment()).isEqualTo(6);
+        assertThat(stats.get("moment-c")).isEqualTo(Stats.empty());
+    }
+
+    private static Counter counter(String momentName, int upvote, int totalComment,
+        int approvedComment) {
+        var counter = new Counter();
+        var metadata = new Metadata();
+        metadata.setName(MomentStatsCache.COUNTER_NAME_PREFIX + momentName);
+        counter.setMetadata(metadata);
+        counter.setUpvote(upvote);
+        counter.setTotalComment(totalComment);
+        counter.setApprovedComment(approvedComment);
+        return counter;
+    }
+}
@@ -0,0 +1,99 @@
+package run.halo.moments.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.Metadata;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.moments.Moment;
+
+class MomentTagIndexTest {
+
+    private MomentTagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        var reactiveClient = mock(ReactiveExtensionClient.class);
+        when(reactiveClient.listAll(eq(Moment.class), any(ListOptions.class), any(Sort.class)))
+            .thenReturn(Flux.empty());
+        tagIndex = new MomentTagIndex(mock(ExtensionClient.class), reactiveClient);
+        tagIndex.index(moment("m1", "alice", true, "Java", "Kotlin"));
+        tagIndex.index(moment("m2", "alice", false, "java"));
+        tagIndex.index(moment("m3", "alice", false, "JavaScript", "ajax"));
+        tagIndex.index(moment("m4", "alice", false, "Java"));
+        tagIndex.index(moment("m5", "bob", true, "Java"));
+    }
+
+    @Test
+    void shouldMatchPrefixesIgnoringCase() {
+        assertThat(tagIndex.searchOwnerTags("alice", "JA", 0).collectList().block())
+            .containsExactly("Java", "JavaScript", "java", "ajax");
+    }
+
+    @Test
+    void shouldKeepTagsDifferingInCaseApart() {
+        assertThat(tagIndex.searchOwnerTags("alice", "java", 0).collectList().block())
+            .containsExactly("Java", "JavaScript", "java");
+    }
+
+    @Test
+    void shouldLimitMatches() {
+        assertThat(tagIndex.searchOwnerTags("alice", " ja ", 2).collectList().block())
+            .containsExactly("Java", "JavaScript");
+    }
+
+    @Test
+    void shouldListAllTagsOfOwnerForBlankKeyword() {
+        assertThat(tagIndex.searchOwnerTags("alice", "", 0).collectList().block())
+            .containsExactly("Java", "JavaScript", "Kotlin", "ajax", "java");
+        assertThat(tagIndex.searchOwnerTags("carol", "ja", 0).collectList().block())
+            .isEmpty();
+    }
+
+    @Test
+    void shouldUpdateCountsOnRemove() {
+        tagIndex.remove("m1");
+        tagIndex.remove("m4");
+
+        assertThat(tagIndex.searchOwnerTags("alice", "", 0).collectList().block())
+            .containsExactly("JavaScript", "ajax", "java");
+    }
+
+    @Test
+    void shouldCountPublicTags() {
+        assertThat(tagIndex.listPublicTags().collectList().block())
+            .containsExactly(new MomentTagIndex.TagCount("Java", 2),
+                new MomentTagIndex.TagCount("Kotlin", 1));
+
+        tagIndex.index(moment("m1", "alice", false, "Java", "Kotlin"));
+
+        assertThat(tagIndex.listPublicTags().collectList().block())
+            .containsExactly(new MomentTagIndex.TagCount("Java", 1));
+    }
+
+    private static Moment moment(String name, String owner, boolean exposed, String... tags) {
+        var moment = new Moment();
+        var metadata = new Metadata();
+        metadata.setName(name);
+        moment.setMetadata(metadata);
+        var spec = new Moment.MomentSpec();
+        spec.setOwner(owner);
+        spec.setTags(Set.of(tags));
+        spec.setVisible(exposed ? Moment.MomentVisible.PUBLIC : Moment.MomentVisible.PRIVATE);
+        spec.setApproved(true);
+        spec.setReleaseTime(Instant.parse("2024-01-02T03:04:05Z"));
+        moment.setSpec(spec);
+        return moment;
+    }
+}
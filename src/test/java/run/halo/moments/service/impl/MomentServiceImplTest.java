@@ -0,0 +1,130 @@
+package run.halo.moments.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.PageRequest;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.search.HaloDocument;
+import run.halo.app.search.SearchOption;
+import run.halo.app.search.SearchResult;
+import run.halo.app.search.SearchService;
+import run.halo.moments.MomentQuery;
+import run.halo.moments.service.ListedMomentAssembler;
+import run.halo.moments.service.MomentTagIndex;
+
+class MomentServiceImplTest {
+
+    private ReactiveExtensionClient client;
+
+    private SearchService searchService;
+
+    private ObjectProvider<SearchService> searchServiceProvider;
+
+    private MomentServiceImpl momentService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        client = mock(ReactiveExtensionClient.class);
+        searchService = mock(SearchService.class);
+        searchServiceProvider = mock(ObjectProvider.class);
+        when(searchServiceProvider.getIfAvailable()).thenReturn(searchService);
+        momentService = new MomentServiceImpl(client, mock(ListedMomentAssembler.class),
+            mock(MomentTagIndex.class), searchServiceProvider);
+    }
+
+    @Test
+    void shouldNotSearchWithoutKeyword() {
+        var listOptions = momentService.resolveListOptions(query("/moments")).block();
+
+        assertThat(listOptions).isNotNull();
+        verify(searchService, never()).search(any());
+    }
+
+    @Test
+    void shouldNarrowToSearchHitsWithoutApprovedFilter() {
+        givenHits("moment-a", "moment-b");
+
+        var listOptions = momentService.resolveListOptions(
+            query("/moments?keyword=hello&ownerName=alice")).block();
+
+        var option = ArgumentCaptor.forClass(SearchOption.class);
+        verify(searchService).search(option.capture());
+        assertThat(option.getValue().getKeyword()).isEqualTo("hello");
+        assertThat(option.getValue().getLimit()).isEqualTo(MomentServiceImpl.SEARCH_HIT_LIMIT);
+        assertThat(option.getValue().getIncludeOwnerNames()).containsExactly("alice");
+        assertThat(listOptions).isNotNull();
+        assertThat(listOptions.getFieldSelector().query().toString())
+            .contains("metadata.name");
+    }
+
+    @Test
+    void shouldNarrowToCappedHitsInsteadOfMatchingOwner() {
+        givenHits(IntStream.range(0, MomentServiceImpl.SEARCH_HIT_LIMIT)
+            .mapToObj(i -> "moment-" + i)
+            .toArray(String[]::new));
+
+        var listOptions = momentService.resolveListOptions(query("/moments?keyword=hello"))
+            .block();
+
+        assertThat(listOptions).isNotNull();
+        assertThat(listOptions.getFieldSelector().query().toString())
+            .contains("metadata.name")
+            .doesNotContain("spec.owner");
+    }
+
+    @Test
+    void shouldListNothingWithoutHits() {
+        givenHits();
+
+        var result = momentService.listMoment(query("/moments?keyword=hello")).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getTotal()).isZero();
+        assertThat(result.getItems()).isEmpty();
+        verify(client, never()).listBy(any(), any(ListOptions.class), any(PageRequest.class));
+    }
+
+    @Test
+    void shouldMatchOwnerOnlyWithoutSearchEngine() {
+        when(searchServiceProvider.getIfAvailable()).thenReturn(null);
+
+        var listOptions = momentService.resolveListOptions(query("/moments?keyword=hello"))
+            .block();
+
+        assertThat(listOptions).isNotNull();
+        assertThat(listOptions.getFieldSelector().query().toString()).contains("spec.owner");
+    }
+
+    private void givenHits(String... momentNames) {
+        var hits = Arrays.stream(momentNames)
+            .map(name -> {
+                var document = new HaloDocument();
+                document.setMetadataName(name);
+                return document;
+            })
+            .toList();
+        var result = new SearchResult();
+        result.setHits(hits);
+        when(searchService.search(any(SearchOption.class))).thenReturn(Mono.just(result));
+    }
+
+    private static MomentQuery query(String uri) {
+        return new MomentQuery(MockServerWebExchange.from(MockServerHttpRequest.get(uri)));
+    }
+}
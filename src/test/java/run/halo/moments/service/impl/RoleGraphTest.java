@@ -0,0 +1,91 @@
+package run.halo.moments.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import run.halo.app.core.extension.Role;
+import run.halo.app.extension.Metadata;
+
+class RoleGraphTest {
+
+    @Test
+    void shouldExpandTransitiveDependencies() {
+        var graph = DefaultRoleService.RoleGraph.of(List.of(
+            role("a", "[\"b\"]"),
+            role("b", "[\"c\"]"),
+            role("c", null),
+            role("d", null)
+        ));
+
+        assertThat(graph.size()).isEqualTo(4);
+        assertThat(graph.closure(List.of("a"))).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(graph.closure(List.of("c", "d"))).containsExactlyInAnyOrder("c", "d");
+    }
+
+    @Test
+    void shouldStopAtCycles() {
+        var graph = DefaultRoleService.RoleGraph.of(List.of(
+            role("a", "[\"b\"]"),
+            role("b", "[\"a\"]")
+        ));
+
+        assertThat(graph.closure(List.of("a"))).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void shouldSkipMissingRoles() {
+        var graph = DefaultRoleService.RoleGraph.of(List.of(
+            role("a", "[\"missing\"]")
+        ));
+
+        assertThat(graph.closure(List.of("a", "unknown"))).containsExactly("a");
+        assertThat(graph.closure(List.of("unknown"))).isEmpty();
+    }
+
+    @Test
+    void shouldIncludeAggregatedRoles() {
+        var aggregated = role("plugin-role", null);
+        aggregated.getMetadata().setLabels(
+            Map.of(Role.ROLE_AGGREGATE_LABEL_PREFIX + "b", "true"));
+        var ignored = role("ignored-role", null);
+        ignored.getMetadata().setLabels(
+            Map.of(Role.ROLE_AGGREGATE_LABEL_PREFIX + "b", "false"));
+        var graph = DefaultRoleService.RoleGraph.of(List.of(
+            role("a", "[\"b\"]"),
+            role("b", null),
+            aggregated,
+            ignored
+        ));
+
+        assertThat(graph.closure(List.of("a")))
+            .containsExactlyInAnyOrder("a", "b", "plugin-role");
+    }
+
+    @Test
+    void shouldMemoizeClosuresRegardlessOfOrder() {
+        var graph = DefaultRoleService.RoleGraph.of(List.of(
+            role("a", null),
+            role("b", null)
+        ));
+
+        var closure = graph.closure(List.of("a", "b"));
+
+        assertThat(graph.closure(List.of("b", "a"))).isSameAs(closure);
+    }
+
+    private static Role role(String name, String dependencies) {
+        var role = new Role();
+        var metadata = new Metadata();
+        metadata.setName(name);
+        var annotations = new HashMap<String, String>();
+        if (dependencies != null) {
+            annotations.put(Role.ROLE_DEPENDENCIES_ANNO, dependencies);
+        }
+        metadata.setAnnotations(annotations);
+        role.setMetadata(metadata);
+        return role;
+    }
+}
@@ -0,0 +1,70 @@
+package run.halo.moments.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        var cache = new LruCache<String, Integer>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // reading a makes b the least recently used
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldGetPresentKeysOnly() {
+        var cache = new LruCache<String, Integer>(4);
+        cache.put("a", 1);
+        cache.put("c", 3);
+
+        assertThat(cache.getAll(List.of("a", "b", "c")))
+            .containsOnlyKeys("a", "c")
+            .containsEntry("a", 1)
+            .containsEntry("c", 3);
+    }
+
+    @Test
+    void shouldPutOnlyIfConditionHolds() {
+        var cache = new LruCache<String, Integer>(4);
+
+        assertThat(cache.putIf("a", 1, () -> false)).isFalse();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.putIf("a", 1, () -> true)).isTrue();
+        assertThat(cache.get("a")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRemoveEntries() {
+        var cache = new LruCache<String, Integer>(4);
+        cache.put("a", 1);
+        cache.put("ab", 2);
+        cache.put("b", 3);
+
+        cache.removeIf(key -> key.startsWith("a"));
+        assertThat(cache.getAll(List.of("a", "ab", "b"))).containsOnlyKeys("b");
+
+        cache.remove("b");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> new LruCache<String, Integer>(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        var cache = new LruCache<String, Integer>(1);
+        assertThatThrownBy(() -> cache.put("a", null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}